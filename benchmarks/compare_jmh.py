@@ -0,0 +1,55 @@
+#!/usr/bin/env python3
+"""Compara un resultado JMH (-rf json) con el de una ejecucion anterior.
+
+Falla (codigo 1) si algun benchmark empeora mas que el umbral y la diferencia supera el error
+combinado de ambas medidas. Los benchmarks nuevos o desaparecidos solo se informan.
+
+Uso: compare_jmh.py baseline.json current.json [umbral, por defecto 0.15]
+"""
+import json
+import sys
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for entry in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted(entry.get("params", {}).items()))
+            key = f"{entry['benchmark']}[{params}]" if params else entry["benchmark"]
+            metric = entry["primaryMetric"]
+            error = metric.get("scoreError")
+            results[key] = (entry["mode"], metric["score"], 0.0 if error in (None, "NaN") else float(error))
+        return results
+
+
+def main():
+    if len(sys.argv) < 3:
+        print(__doc__)
+        return 2
+    baseline, current = load(sys.argv[1]), load(sys.argv[2])
+    threshold = float(sys.argv[3]) if len(sys.argv) > 3 else 0.15
+    regressions = []
+    for key, (mode, score, error) in sorted(current.items()):
+        if key not in baseline:
+            print(f"NUEVO     {key}: {score:.3f}")
+            continue
+        _, base_score, base_error = baseline[key]
+        if base_score == 0:
+            continue
+        # thrpt: mas es mejor; avgt/sample/ss: menos es mejor
+        worse_by = (base_score - score) if mode == "thrpt" else (score - base_score)
+        change = worse_by / base_score
+        regressed = change > threshold and worse_by > error + base_error
+        print(f"{'REGRESION' if regressed else 'ok':9} {key}: {base_score:.3f} -> {score:.3f} ({change:+.1%} peor)")
+        if regressed:
+            regressions.append(key)
+    for key in sorted(baseline.keys() - current.keys()):
+        print(f"QUITADO   {key}")
+    if regressions:
+        print(f"{len(regressions)} benchmark(s) empeoran mas de un {threshold:.0%}")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
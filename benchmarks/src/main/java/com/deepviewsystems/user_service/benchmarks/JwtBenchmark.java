@@ -0,0 +1,54 @@
+package com.deepviewsystems.user_service.benchmarks;
+
+import com.deepviewsystems.user_service.security.AuthoritySet;
+import com.deepviewsystems.user_service.security.JwtService;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import com.deepviewsystems.user_service.security.SigningKeyRing;
+import com.deepviewsystems.user_service.security.SigningKeyStore;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Firma RS256 y verificación local de access tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private AuthoritySet authorities;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(new SigningKeyRing(SigningKeyStore.inMemory(), 1440, 900, 300), "http://localhost:8085", 900);
+        authorities = AuthoritySet.of(List.of(SecurityConstants.ROLE_USER));
+        token = jwtService.generateAccessToken(42L, "user@dvs.com", authorities);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateAccessToken(42L, "user@dvs.com", authorities);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtService.parseAccessToken(token);
+    }
+}
@@ -0,0 +1,108 @@
+package com.deepviewsystems.user_service.benchmarks;
+
+import com.deepviewsystems.user_service.entities.AuthProvider;
+import com.deepviewsystems.user_service.entities.Role;
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.entities.UserAuthentication;
+import com.deepviewsystems.user_service.mappers.UserMapper;
+import com.deepviewsystems.user_service.records.UserProfileResponse;
+import com.deepviewsystems.user_service.security.AuthoritySet;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User → perfil con ModelMapper (respaldo) frente a {@link UserMapper}.
+ * Correr con {@code -prof gc} para ver bytes asignados por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private User user;
+    private AuthoritySet authorities;
+    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+
+    @Setup
+    public void setUp() {
+        user = User.builder()
+                .id(42L)
+                .email("user@dvs.com")
+                .password("{bcrypt}hash")
+                .roles(new HashSet<>(Set.of(Role.builder().id(1L).authority(SecurityConstants.ROLE_USER).build())))
+                .authentications(new ArrayList<>())
+                .build();
+        user.getAuthentications().add(UserAuthentication.builder()
+                .user(user)
+                .provider(AuthProvider.builder().id(1L).name(SecurityConstants.PROVIDER_LOCAL).build())
+                .build());
+        user.setCreatedDate(Instant.now());
+        user.setLastModifiedDate(Instant.now());
+        authorities = AuthoritySet.of(List.of(SecurityConstants.ROLE_USER));
+
+        // Misma configuración que ModelMapperConfig
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true)
+                .setAmbiguityIgnored(true);
+        userMapper = new UserMapper();
+    }
+
+    @Benchmark
+    public ProfileBean modelMapper() {
+        return modelMapper.map(user, ProfileBean.class);
+    }
+
+    @Benchmark
+    public UserProfileResponse typedMapper() {
+        return userMapper.toProfile(user, authorities);
+    }
+
+    /**
+     * ModelMapper no construye records: su lado mapea a un bean con los mismos campos.
+     */
+    public static class ProfileBean {
+        private Long id;
+        private String email;
+        private boolean enabled;
+        private boolean accountNonLocked;
+        private Instant createdDate;
+        private Instant lastModifiedDate;
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public boolean isAccountNonLocked() { return accountNonLocked; }
+        public void setAccountNonLocked(boolean accountNonLocked) { this.accountNonLocked = accountNonLocked; }
+        public Instant getCreatedDate() { return createdDate; }
+        public void setCreatedDate(Instant createdDate) { this.createdDate = createdDate; }
+        public Instant getLastModifiedDate() { return lastModifiedDate; }
+        public void setLastModifiedDate(Instant lastModifiedDate) { this.lastModifiedDate = lastModifiedDate; }
+    }
+}
@@ -0,0 +1,98 @@
+package com.deepviewsystems.user_service.benchmarks;
+
+import com.deepviewsystems.user_service.UserServiceApplication;
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.records.UserProfileRow;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas del camino de login y perfil contra H2 embebido, con el contexto real de la aplicación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int BATCH = 500;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(UserServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+
+        ids = new ArrayList<>(USERS);
+        List<User> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < USERS; i++) {
+            batch.add(User.builder().email(email(i)).password("{noop}x").build());
+            if (batch.size() == BATCH) {
+                userRepository.saveAll(batch).forEach(user -> ids.add(user.getId()));
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> findByEmail() {
+        return userRepository.findByEmail(email(ThreadLocalRandom.current().nextInt(USERS)));
+    }
+
+    @Benchmark
+    public List<Long> findRoleIds() {
+        return userRepository.findRoleIds(randomId());
+    }
+
+    @Benchmark
+    public List<UserProfileRow> findProfileRows() {
+        return userRepository.findProfileRows(List.of(randomId()));
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static String email(int i) {
+        return "bench-" + i + "@dvs.com";
+    }
+}
@@ -0,0 +1,70 @@
+package com.deepviewsystems.user_service.benchmarks;
+
+import com.deepviewsystems.user_service.records.ApiResponse;
+import com.deepviewsystems.user_service.records.AuthResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de {@code ApiResponse<AuthResponse>}: writer resuelto por llamada (conversor
+ * genérico de Spring) frente al writer precargado de {@code PreboundJsonHttpMessageConverter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper plainMapper;
+    private ObjectMapper blackbirdMapper;
+    private JavaType type;
+    private ObjectWriter prebound;
+    private ApiResponse<AuthResponse> response;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+
+    @Setup
+    public void setUp() {
+        plainMapper = Jackson2ObjectMapperBuilder.json().build();
+        blackbirdMapper = Jackson2ObjectMapperBuilder.json().modules(new BlackbirdModule()).build();
+        type = blackbirdMapper.getTypeFactory().constructParametricType(ApiResponse.class, AuthResponse.class);
+        prebound = blackbirdMapper.writerFor(type);
+        response = ApiResponse.success("Login exitoso",
+                new AuthResponse(42L, "user@dvs.com", "eyJhbGciOiJSUzI1NiJ9.payload.signature", "rt_refresh",
+                        Set.of("ROLE_USER"), false));
+    }
+
+    @Benchmark
+    public int genericWriter() throws IOException {
+        buffer.reset();
+        plainMapper.writerFor(plainMapper.getTypeFactory().constructParametricType(ApiResponse.class, AuthResponse.class))
+                .writeValue(buffer, response);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int preboundWriter() throws IOException {
+        buffer.reset();
+        prebound.writeValue(buffer, response);
+        return buffer.size();
+    }
+}
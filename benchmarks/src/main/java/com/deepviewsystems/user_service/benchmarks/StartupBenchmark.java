@@ -0,0 +1,164 @@
+package com.deepviewsystems.user_service.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo desde que se lanza la JVM hasta el primer login correcto (registro + login por HTTP),
+ * para cada modo de arranque de producción:
+ * <ul>
+ *   <li>{@code jit}: el jar tal cual.</li>
+ *   <li>{@code aot}: con el código generado por Spring AOT ({@code -Dspring.aot.enabled=true}).</li>
+ *   <li>{@code aot-cds}: AOT más el archivo CDS entrenado en el build.</li>
+ * </ul>
+ * Cada medición arranca un proceso nuevo con el perfil prod sobre H2 en memoria. Requiere la
+ * aplicación extraída por el perfil startup:
+ * <pre>
+ * mvn -B install -DskipTests -Pstartup
+ * java -jar benchmarks/target/benchmarks.jar StartupBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String CREDENTIALS = "{\"email\":\"startup@bench.dvs\",\"password\":\"startup-bench-1\"}";
+
+    @Param({"jit", "aot", "aot-cds"})
+    public String mode;
+
+    @Param({"target/startup"})
+    public String appDir;
+
+    @Param({"user-service-0.0.1-SNAPSHOT-exec.jar"})
+    public String appJar;
+
+    private File directory;
+    private Path auditDir;
+    private HttpClient httpClient;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = new File(appDir).getAbsoluteFile();
+        if (!new File(directory, appJar).isFile()) {
+            throw new IllegalStateException("No existe " + appJar + " en " + directory + ": construir con mvn -Pstartup");
+        }
+        if ("aot-cds".equals(mode) && !new File(directory, "application.jsa").isFile()) {
+            throw new IllegalStateException("No existe application.jsa en " + directory);
+        }
+        auditDir = Files.createTempDirectory("startup-bench-auth-events");
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    @Benchmark
+    public int firstSuccessfulLogin() throws IOException, InterruptedException {
+        int port = freePort();
+        process = new ProcessBuilder(command(port))
+                .directory(directory)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File(directory, "startup-benchmark.log")))
+                .start();
+
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        post(port, "/api/auth/register", deadline);
+        return post(port, "/api/auth/login", deadline);
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!"jit".equals(mode)) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        if ("aot-cds".equals(mode)) {
+            command.add("-XX:SharedArchiveFile=application.jsa");
+        }
+        command.addAll(List.of(
+                "-Dspring.profiles.active=prod",
+                "-Dserver.port=" + port,
+                "-Dspring.datasource.url=jdbc:h2:mem:startup",
+                "-Dspring.datasource.driver-class-name=org.h2.Driver",
+                "-Dspring.datasource.username=sa",
+                "-Dspring.datasource.password=",
+                "-Dspring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "-Dspring.jpa.show-sql=false",
+                "-Dapp.audit.auth-log.directory=" + auditDir,
+                "-jar", appJar));
+        return command;
+    }
+
+    /**
+     * Repite la petición hasta que el servidor acepta conexiones y responde 2xx.
+     */
+    private int post(int port, String path, long deadline) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(CREDENTIALS))
+                .build();
+        int status = 0;
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("La aplicación terminó al arrancar (ver startup-benchmark.log)");
+            }
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status / 100 == 2) {
+                    return status;
+                }
+            } catch (ConnectException e) {
+                // Todavía no escucha
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException(path + " no respondió 2xx en " + STARTUP_TIMEOUT + " (último estado " + status + ")");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
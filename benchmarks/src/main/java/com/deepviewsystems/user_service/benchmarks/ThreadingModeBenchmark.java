@@ -0,0 +1,210 @@
+package com.deepviewsystems.user_service.benchmarks;
+
+import com.deepviewsystems.user_service.UserServiceApplication;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login social de punta a punta con hilos de plataforma frente a hilos virtuales.
+ *
+ * <ul>
+ *   <li>{@code linkedInLogin}: HTTP → servicio → userinfo simulado con latencia fija.</li>
+ *   <li>{@code googleLogin}: ID token verificado contra un JWKS local; con hilos virtuales pasa por
+ *   {@code LoginFanOut}, que busca la cuenta vinculada mientras se verifica la firma. Las cuentas
+ *   se crean en el setup, así que se mide el camino de usuario ya vinculado.</li>
+ * </ul>
+ *
+ * Tomcat se limita a {@code tomcatThreads} hilos en ambos modos: con hilos de plataforma las
+ * peticiones esperan hilo libre mientras el proveedor responde; con hilos virtuales ese límite no
+ * aplica. El modo virtual necesita ejecutarse con Java 21 o superior:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ThreadingModeBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(200)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final int PROVIDER_USERS = 1_000;
+    private static final String GOOGLE_CLIENT_ID = "bench-client.apps.googleusercontent.com";
+    private static final String GOOGLE_KID = "bench-google-key";
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"50"})
+    public int providerLatencyMs;
+
+    @Param({"50"})
+    public int tomcatThreads;
+
+    private HttpServer provider;
+    private ExecutorService providerExecutor;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI loginUri;
+    private URI googleLoginUri;
+    private String[] googleIdTokens;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException, NoSuchAlgorithmException {
+        if ("virtual".equals(mode) && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("El modo virtual requiere Java 21");
+        }
+        providerExecutor = Executors.newCachedThreadPool();
+        provider = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        provider.setExecutor(providerExecutor);
+        provider.createContext("/userinfo", exchange -> {
+            String token = exchange.getRequestHeaders().getFirst("Authorization").substring("Bearer ".length());
+            byte[] body = ("{\"sub\":\"" + token + "\",\"email\":\"" + token + "@bench.dvs\",\"email_verified\":true}")
+                    .getBytes(StandardCharsets.UTF_8);
+            try {
+                Thread.sleep(providerLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair googleKey = generator.generateKeyPair();
+        byte[] jwks = new JWKSet(new RSAKey.Builder((RSAPublicKey) googleKey.getPublic()).keyID(GOOGLE_KID).build())
+                .toString().getBytes(StandardCharsets.UTF_8);
+        provider.createContext("/certs", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(jwks);
+            }
+        });
+        provider.start();
+        // Firmar no forma parte de lo medido: los ID tokens se generan una vez
+        googleIdTokens = new String[PROVIDER_USERS];
+        for (int i = 0; i < PROVIDER_USERS; i++) {
+            googleIdTokens[i] = googleIdToken(googleKey, "g-" + i);
+        }
+
+        context = new SpringApplicationBuilder(UserServiceApplication.class)
+                .profiles("dev")
+                // Como argumentos: .properties() solo fija valores por defecto, que application.properties pisa
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + tomcatThreads,
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                        "--app.oauth.linkedin.userinfo-uri=http://localhost:" + provider.getAddress().getPort() + "/userinfo",
+                        "--app.oauth.google.client-ids=" + GOOGLE_CLIENT_ID,
+                        "--app.oauth.google.jwks-uri=http://localhost:" + provider.getAddress().getPort() + "/certs",
+                        // Sin caché de userinfo: cada login paga la latencia del proveedor
+                        "--app.http.outbound.providers.linkedin.userinfo-cache-ttl=0s",
+                        "--app.http.outbound.providers.linkedin.max-concurrent-calls=1000",
+                        "--app.http.outbound.max-connections-total=1000",
+                        "--app.http.outbound.max-connections-per-route=1000",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        String port = context.getEnvironment().getProperty("local.server.port");
+        loginUri = URI.create("http://localhost:" + port + "/api/auth/linkedin");
+        googleLoginUri = URI.create("http://localhost:" + port + "/api/auth/google");
+        httpClient = HttpClient.newHttpClient();
+        for (String idToken : googleIdTokens) {
+            int status = postGoogleLogin(idToken);
+            if (status != 200) {
+                throw new IllegalStateException("Alta de usuario de Google fallida: HTTP " + status);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        provider.stop(0);
+        providerExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int linkedInLogin() throws IOException, InterruptedException {
+        String token = "li-" + ThreadLocalRandom.current().nextInt(PROVIDER_USERS);
+        HttpRequest request = HttpRequest.newBuilder(loginUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"linkedinToken\":\"" + token + "\"}"))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int googleLogin() throws IOException, InterruptedException {
+        return postGoogleLogin(googleIdTokens[ThreadLocalRandom.current().nextInt(PROVIDER_USERS)]);
+    }
+
+    private int postGoogleLogin(String idToken) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(googleLoginUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"googleToken\":\"" + idToken + "\"}"))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String googleIdToken(KeyPair key, String subject) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(GOOGLE_KID).and()
+                .issuer("https://accounts.google.com")
+                .audience().add(GOOGLE_CLIENT_ID).and()
+                .subject(subject)
+                .claim("email", subject + "@gmail.bench.dvs")
+                .claim("email_verified", true)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(Duration.ofDays(1))))
+                .signWith(key.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+    }
+}
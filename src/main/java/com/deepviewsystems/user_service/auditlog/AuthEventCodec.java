@@ -0,0 +1,114 @@
+package com.deepviewsystems.user_service.auditlog;
+
+import com.deepviewsystems.user_service.records.AuthEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binario de cada registro dentro de un segmento:
+ * <pre>
+ * int longitud | int crc32c | long epochMillis | long userId (-1 = sin usuario) | 5 × (short longitud + UTF-8)
+ * </pre>
+ * Una longitud 0 marca el final de los datos escritos: el segmento se crea lleno de ceros.
+ */
+final class AuthEventCodec {
+
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int MAX_STRING_CHARS = 256;
+    private static final short NULL_STRING = -1;
+
+    private AuthEventCodec() {
+    }
+
+    static byte[] encode(AuthEvent event) {
+        byte[][] strings = {
+                bytes(event.flow()), bytes(event.provider()), bytes(event.outcome()),
+                bytes(event.subject()), bytes(event.clientIp())
+        };
+        int size = Long.BYTES * 2;
+        for (byte[] string : strings) {
+            size += Short.BYTES + (string == null ? 0 : string.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(event.timestamp().toEpochMilli());
+        buffer.putLong(event.userId() == null ? -1 : event.userId());
+        for (byte[] string : strings) {
+            if (string == null) {
+                buffer.putShort(NULL_STRING);
+            } else {
+                buffer.putShort((short) string.length);
+                buffer.put(string);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Escribe cabecera y datos en la posición actual. La longitud se escribe al final para que un
+     * lector concurrente no vea un registro a medias como válido.
+     */
+    static void write(ByteBuffer target, byte[] payload) {
+        int start = target.position();
+        target.position(start + HEADER_BYTES);
+        target.put(payload);
+        target.putInt(start + Integer.BYTES, checksum(payload));
+        target.putInt(start, payload.length);
+    }
+
+    /**
+     * Lee el registro en la posición actual, o {@code null} al llegar al final de los datos válidos.
+     */
+    static AuthEvent read(ByteBuffer source) {
+        if (source.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int start = source.position();
+        int length = source.getInt(start);
+        if (length <= 0 || length > source.remaining() - HEADER_BYTES) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        source.get(start + HEADER_BYTES, payload);
+        if (source.getInt(start + Integer.BYTES) != checksum(payload)) {
+            // Registro incompleto (escritura interrumpida): lo siguiente no es fiable
+            return null;
+        }
+        source.position(start + HEADER_BYTES + length);
+        return decode(ByteBuffer.wrap(payload));
+    }
+
+    private static AuthEvent decode(ByteBuffer buffer) {
+        Instant timestamp = Instant.ofEpochMilli(buffer.getLong());
+        long userId = buffer.getLong();
+        return new AuthEvent(timestamp, string(buffer), string(buffer), string(buffer),
+                userId < 0 ? null : userId, string(buffer), string(buffer));
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        String bounded = value.length() > MAX_STRING_CHARS ? value.substring(0, MAX_STRING_CHARS) : value;
+        return bounded.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,298 @@
+package com.deepviewsystems.user_service.auditlog;
+
+import com.deepviewsystems.user_service.records.AuthEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Log local de eventos de autenticación: solo añade, en segmentos de tamaño fijo mapeados en memoria.
+ *
+ * El hilo de la petición solo encola el evento (si la cola está llena se descarta y se cuenta);
+ * un único hilo escritor vacía la cola por lotes y copia cada registro al segmento mapeado, sin
+ * llamadas al sistema por evento. Al llenarse un segmento se sincroniza a disco, se abre el
+ * siguiente y se borran los que superan la retención. Cada arranque abre un segmento nuevo.
+ * La retención también se aplica al arrancar y periódicamente, para que una réplica con poco
+ * tráfico (que casi nunca llena un segmento) no acumule segmentos caducados.
+ *
+ * Es un registro de auditoría por réplica, no una fuente de verdad: un fallo del sistema
+ * operativo puede perder lo escrito desde la última sincronización.
+ */
+@Slf4j
+@Component
+public class AuthEventLog {
+
+    private static final String SEGMENT_PREFIX = "auth-events-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final Duration retention;
+    private final int maxSegments;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final BlockingQueue<AuthEvent> queue;
+    private final Counter written;
+    private final Counter dropped;
+    private Thread writer;
+
+    private volatile boolean running = true;
+
+    // Solo los usa el hilo escritor
+    private MappedByteBuffer segment;
+    private long segmentSequence;
+    private long lastForce = System.nanoTime();
+
+    public AuthEventLog(MeterRegistry meterRegistry,
+                        @Value("${app.audit.auth-log.enabled:true}") boolean enabled,
+                        @Value("${app.audit.auth-log.directory:data/auth-events}") String directory,
+                        @Value("${app.audit.auth-log.segment-size-mb:64}") int segmentSizeMb,
+                        @Value("${app.audit.auth-log.retention-days:30}") long retentionDays,
+                        @Value("${app.audit.auth-log.max-segments:100}") int maxSegments,
+                        @Value("${app.audit.auth-log.queue-capacity:65536}") int queueCapacity,
+                        @Value("${app.audit.auth-log.batch-size:512}") int batchSize,
+                        @Value("${app.audit.auth-log.flush-interval-ms:1000}") long flushIntervalMs) throws IOException {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentSizeMb * 1024 * 1024;
+        this.retention = Duration.ofDays(retentionDays);
+        this.maxSegments = maxSegments;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.written = Counter.builder("audit.auth.events")
+                .description("Eventos de autenticación escritos en el log local")
+                .tag("result", "written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.auth.events")
+                .description("Eventos de autenticación escritos en el log local")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("audit.auth.queue.size", queue, BlockingQueue::size)
+                .description("Eventos pendientes de escribir")
+                .register(meterRegistry);
+
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        segmentSequence = segments().stream().mapToLong(AuthEventLog::sequence).max().orElse(0);
+        openNextSegment();
+        applyRetention();
+        writer = new Thread(this::drain, "auth-event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Encola el evento sin bloquear; si la cola está llena el evento se descarta.
+     */
+    public void append(AuthEvent event) {
+        if (enabled && !queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Eventos con {@code from <= timestamp < to}, en orden de escritura, leídos de los segmentos
+     * en disco. Incluye el segmento activo hasta el último registro completo.
+     */
+    public Stream<AuthEvent> stream(Instant from, Instant to) {
+        if (!enabled) {
+            return Stream.empty();
+        }
+        List<Path> segments = segments();
+        // Un segmento es anterior a from si el siguiente ya empieza antes de from
+        int first = 0;
+        while (first < segments.size() - 1 && !firstTimestamp(segments.get(first + 1)).isAfter(from)) {
+            first++;
+        }
+        return segments.subList(first, segments.size()).stream()
+                .flatMap(AuthEventLog::read)
+                .filter(event -> !event.timestamp().isBefore(from) && event.timestamp().isBefore(to));
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.auth-log.retention-check-ms:3600000}",
+            initialDelayString = "${app.audit.auth-log.retention-check-ms:3600000}")
+    public void scheduledRetention() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            applyRetention();
+        } catch (IOException e) {
+            log.warn("No se pudo aplicar la retención del log de eventos: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void drain() {
+        List<AuthEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuthEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    batch.forEach(this::write);
+                    written.increment(batch.size());
+                    batch.clear();
+                }
+                forceIfDue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (UncheckedIOException e) {
+                log.error("Error escribiendo el log de eventos de autenticación", e);
+                batch.clear();
+            }
+        }
+        segment.force();
+    }
+
+    private void write(AuthEvent event) {
+        byte[] payload = AuthEventCodec.encode(event);
+        // Deja siempre sitio para una cabecera vacía que marque el final del segmento
+        if (segment.remaining() < payload.length + AuthEventCodec.HEADER_BYTES * 2) {
+            try {
+                rotate();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        AuthEventCodec.write(segment, payload);
+    }
+
+    private void forceIfDue() {
+        if (System.nanoTime() - lastForce >= TimeUnit.MILLISECONDS.toNanos(flushIntervalMs)) {
+            segment.force();
+            lastForce = System.nanoTime();
+        }
+    }
+
+    private void rotate() throws IOException {
+        segment.force();
+        openNextSegment();
+        applyRetention();
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentSequence++;
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentSequence, SEGMENT_SUFFIX));
+        // El mapeo sigue siendo válido después de cerrar el canal
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        log.debug("Segmento de eventos de autenticación abierto: {}", path);
+    }
+
+    /**
+     * Nunca borra el último segmento (el activo). La llaman el hilo escritor al rotar y el
+     * planificador.
+     */
+    private synchronized void applyRetention() throws IOException {
+        List<Path> segments = segments();
+        long cutoff = Instant.now().minus(retention).toEpochMilli();
+        for (int i = 0; i < segments.size() - 1; i++) {
+            Path path = segments.get(i);
+            if (segments.size() - i > maxSegments || lastModifiedMillis(path) < cutoff) {
+                Files.deleteIfExists(path);
+                log.info("Segmento de eventos eliminado por retención: {}", path.getFileName());
+            }
+        }
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Stream<AuthEvent> read(Path path) {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            // Segmento borrado por retención mientras se listaba
+            return Stream.empty();
+        }
+        Spliterator<AuthEvent> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super AuthEvent> action) {
+                AuthEvent event = AuthEventCodec.read(buffer);
+                if (event == null) {
+                    return false;
+                }
+                action.accept(event);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private static Instant firstTimestamp(Path path) {
+        return read(path).findFirst().map(AuthEvent::timestamp).orElse(Instant.MAX);
+    }
+
+    private static long sequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
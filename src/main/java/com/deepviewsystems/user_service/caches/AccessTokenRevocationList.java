@@ -0,0 +1,148 @@
+package com.deepviewsystems.user_service.caches;
+
+import com.deepviewsystems.user_service.entities.TokenRevocation;
+import com.deepviewsystems.user_service.repositories.TokenRevocationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocación de access tokens por usuario ("epoch"), consultada en memoria en cada petición.
+ *
+ * Por cada usuario revocado se guarda solo el segundo de la revocación: un token cuyo
+ * {@code iat} es anterior a ese segundo queda rechazado. {@code iat} tiene resolución de segundos,
+ * así que los tokens del mismo segundo se aceptan: rechazarlos dejaría sin sesión al usuario que
+ * vuelve a entrar justo después de cambiar la contraseña. La entrada desaparece cuando pasa el TTL del access
+ * token, así que el tamaño está acotado por las revocaciones de los últimos minutos.
+ *
+ * La fuente de verdad es {@code token_revocations}: se carga completa al arrancar y luego cada
+ * réplica lee las filas nuevas periódicamente, con un solapamiento que cubre commits tardíos y
+ * desfases de reloj (aplicar una fila dos veces no tiene efecto).
+ *
+ * Una revocación nueva también invalida al usuario en {@link UserSecurityCache}: es como se
+ * enteran las demás réplicas de un cambio de contraseña o un bloqueo hecho en otra.
+ */
+@Slf4j
+@Component
+public class AccessTokenRevocationList {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final UserSecurityCache userSecurityCache;
+    private final Duration accessTokenTtl;
+    private final Duration pollOverlap;
+    private final ConcurrentHashMap<Long, Long> revokedAtSecondsByUser = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    private volatile Instant lastPoll = Instant.EPOCH;
+
+    public AccessTokenRevocationList(TokenRevocationRepository tokenRevocationRepository,
+                                     UserSecurityCache userSecurityCache,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.security.jwt.access-token-ttl-seconds:900}") long accessTokenTtlSeconds,
+                                     @Value("${app.security.revocation.poll-overlap-seconds:30}") long pollOverlapSeconds) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.userSecurityCache = userSecurityCache;
+        this.accessTokenTtl = Duration.ofSeconds(accessTokenTtlSeconds);
+        this.pollOverlap = Duration.ofSeconds(pollOverlapSeconds);
+        this.rejected = Counter.builder("auth.access.revoked")
+                .description("Access tokens rechazados por revocación")
+                .register(meterRegistry);
+        Gauge.builder("auth.access.revocations", revokedAtSecondsByUser, ConcurrentHashMap::size)
+                .description("Usuarios con revocaciones vigentes en memoria")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        poll();
+        log.info("Lista de revocación cargada: {} usuarios", revokedAtSecondsByUser.size());
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (revokedAtSecondsByUser.isEmpty()) {
+            return false;
+        }
+        Long revokedAt = revokedAtSecondsByUser.get(userId);
+        if (revokedAt == null || issuedAt == null || issuedAt.toInstant().getEpochSecond() >= revokedAt) {
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    /**
+     * Revoca todos los access tokens emitidos hasta ahora para el usuario. Se persiste en la
+     * transacción en curso y se aplica en memoria al confirmarla; el resto de réplicas la ven
+     * en su siguiente lectura.
+     */
+    public void revokeAll(Long userId) {
+        Instant now = Instant.now();
+        TokenRevocation revocation = tokenRevocationRepository.save(TokenRevocation.builder()
+                .userId(userId)
+                .revokedAt(now)
+                .expiresAt(now.plus(accessTokenTtl))
+                .build());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(revocation);
+                }
+            });
+        } else {
+            apply(revocation);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.poll-ms:5000}")
+    public void poll() {
+        Instant now = Instant.now();
+        Instant since = lastPoll == Instant.EPOCH ? Instant.EPOCH : lastPoll.minus(pollOverlap);
+        List<TokenRevocation> revocations = tokenRevocationRepository.findActiveSince(since, now);
+        for (TokenRevocation revocation : revocations) {
+            // Las filas del solapamiento ya aplicadas no vuelven a invalidar
+            if (apply(revocation)) {
+                userSecurityCache.invalidate(revocation.getUserId());
+            }
+        }
+        lastPoll = now;
+        evictExpired(now);
+    }
+
+    int size() {
+        return revokedAtSecondsByUser.size();
+    }
+
+    /**
+     * @return {@code true} si la revocación es más reciente que la que había para el usuario
+     */
+    private boolean apply(TokenRevocation revocation) {
+        long revokedAt = revocation.getRevokedAt().getEpochSecond();
+        Long previous = revokedAtSecondsByUser.get(revocation.getUserId());
+        if (previous != null && previous >= revokedAt) {
+            return false;
+        }
+        // Con dos aplicaciones a la vez ambas pueden devolver true: invalidar dos veces no importa
+        revokedAtSecondsByUser.merge(revocation.getUserId(), revokedAt, Math::max);
+        return true;
+    }
+
+    private void evictExpired(Instant now) {
+        // Todo token emitido antes de la revocación ya expiró
+        long cutoff = now.minus(accessTokenTtl).getEpochSecond();
+        revokedAtSecondsByUser.values().removeIf(revokedAt -> revokedAt < cutoff);
+    }
+}
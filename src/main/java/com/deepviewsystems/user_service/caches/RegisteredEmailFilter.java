@@ -0,0 +1,312 @@
+package com.deepviewsystems.user_service.caches;
+
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Filtro Bloom en memoria con los emails registrados, para no ir a la base por emails que no existen.
+ *
+ * Un "no" del filtro es definitivo y la consulta se omite; un "quizá" se confirma en la base. Hasta
+ * que termina la primera carga todas las consultas van a la base.
+ *
+ * El filtro se reconstruye entero al arrancar y periódicamente, leyendo la tabla {@code users} en
+ * streaming en un hilo propio: así se eliminan las bajas y se redimensiona si ha crecido. Entre
+ * reconstrucciones se añaden las altas confirmadas en esta instancia (post-commit) y las de otras
+ * réplicas, que se leen periódicamente por fecha de creación con un solapamiento. En el intervalo
+ * entre que otra réplica da de alta un email y esta lo lee, el filtro puede dar un falso negativo:
+ * el registro queda protegido por la restricción única y el reseteo de contraseña, como con un
+ * email inexistente, no envía nada.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter implements PostCommitInsertEventListener {
+
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Duration pollInterval;
+    private final Duration rebuildInterval;
+    private final Duration pollOverlap;
+    private final ScheduledExecutorService executor;
+    private final Counter skipped;
+    private final Counter confirmed;
+    private final Counter falsePositives;
+
+    private volatile Bits current;
+    // Reconstrucción en curso: recibe también las altas locales mientras se lee la tabla
+    private volatile Bits building;
+    private Instant lastPoll = Instant.EPOCH;
+
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 EntityManagerFactory entityManagerFactory,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.security.email-filter.enabled:true}") boolean enabled,
+                                 @Value("${app.security.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${app.security.email-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+                                 @Value("${app.security.email-filter.poll-ms:5000}") long pollMs,
+                                 @Value("${app.security.email-filter.rebuild-minutes:60}") long rebuildMinutes,
+                                 @Value("${app.security.email-filter.poll-overlap-seconds:30}") long pollOverlapSeconds) {
+        this.userRepository = userRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.pollInterval = Duration.ofMillis(pollMs);
+        this.rebuildInterval = Duration.ofMinutes(rebuildMinutes);
+        this.pollOverlap = Duration.ofSeconds(pollOverlapSeconds);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.skipped = lookups(meterRegistry, "skipped");
+        this.confirmed = lookups(meterRegistry, "confirmed");
+        this.falsePositives = lookups(meterRegistry, "false_positive");
+        Gauge.builder("email.filter.memory", this, filter -> filter.current == null ? 0 : filter.current.memoryBytes())
+                .description("Memoria ocupada por el filtro de emails")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.insertions", this, filter -> filter.current == null ? 0 : filter.current.insertions())
+                .description("Emails añadidos al filtro desde la última reconstrucción")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.expected.fpp", this, filter -> filter.current == null ? 0 : filter.current.expectedFpp())
+                .description("Probabilidad teórica de falso positivo con la ocupación actual")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_COMMIT_INSERT, this);
+        // Poll y reconstrucción comparten hilo: nunca se solapan
+        executor.execute(this::rebuild);
+        executor.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::rebuild, rebuildInterval.toMinutes(), rebuildInterval.toMinutes(), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param lookup consulta a la base; solo se llama si el email puede existir
+     */
+    public boolean exists(String email, Predicate<String> lookup) {
+        return find(email, candidate -> lookup.test(candidate) ? Optional.of(Boolean.TRUE) : Optional.empty()).isPresent();
+    }
+
+    /**
+     * @param lookup consulta a la base; solo se llama si el email puede existir
+     */
+    public <T> Optional<T> find(String email, Function<String, Optional<T>> lookup) {
+        Bits bits = current;
+        if (bits == null) {
+            return lookup.apply(email);
+        }
+        if (!bits.mightContain(email)) {
+            skipped.increment();
+            return Optional.empty();
+        }
+        Optional<T> found = lookup.apply(email);
+        (found.isPresent() ? confirmed : falsePositives).increment();
+        return found;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof User user) {
+            add(user.getEmail());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Sin commit el email no llegó a registrarse
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return User.class.equals(persister.getMappedClass());
+    }
+
+    void rebuild() {
+        try {
+            long users = userRepository.count();
+            Bits next = new Bits(Math.max(expectedInsertions, users * 2), falsePositiveProbability);
+            building = next;
+            Instant startedAt = Instant.now();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(next::add);
+                }
+            });
+            // Altas confirmadas mientras se leía la tabla, o no visibles aún si se leyó de una réplica
+            addCreatedSince(next, startedAt.minus(pollOverlap));
+            lastPoll = startedAt;
+            current = next;
+            log.info("Filtro de emails reconstruido: {} emails, {} KB", next.insertions(), next.memoryBytes() / 1024);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo reconstruir el filtro de emails; se mantiene el anterior", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    void poll() {
+        Bits bits = current;
+        if (bits == null) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            addCreatedSince(bits, lastPoll.minus(pollOverlap));
+            lastPoll = now;
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron leer las altas recientes para el filtro de emails", e);
+        }
+    }
+
+    private void add(String email) {
+        Bits bits = current;
+        if (bits != null) {
+            bits.add(email);
+        }
+        Bits next = building;
+        if (next != null) {
+            next.add(email);
+        }
+    }
+
+    private void addCreatedSince(Bits bits, Instant since) {
+        userRepository.findEmailsCreatedSince(since).forEach(bits::add);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("email.filter.lookups")
+                .description("Consultas de existencia de email; false_positive / (false_positive + skipped) es la tasa observada")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bitset con k funciones hash por doble hashing sobre un hash de 64 bits del email.
+     */
+    static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+        private final LongAdder insertions = new LongAdder();
+
+        Bits(long expectedInsertions, double falsePositiveProbability) {
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.size = (long) wordCount * 64;
+            this.hashes = (int) Math.max(1, Math.round((double) size / expectedInsertions * ln2));
+        }
+
+        void add(String email) {
+            long hash = hash(email);
+            long h1 = hash;
+            long h2 = mix(hash) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((words.get(word) & mask) == 0) {
+                    words.accumulateAndGet(word, mask, (a, b) -> a | b);
+                }
+            }
+            insertions.increment();
+        }
+
+        boolean mightContain(String email) {
+            long hash = hash(email);
+            long h1 = hash;
+            long h2 = mix(hash) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long memoryBytes() {
+            return (long) words.length() * Long.BYTES;
+        }
+
+        long insertions() {
+            return insertions.sum();
+        }
+
+        double expectedFpp() {
+            return Math.pow(1 - Math.exp(-hashes * (double) insertions() / size), hashes);
+        }
+
+        // FNV-1a sobre UTF-8 con mezcla final de murmur3
+        private static long hash(String email) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb9fe1a85ec53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.deepviewsystems.user_service.caches;
+
+import com.deepviewsystems.user_service.entities.Role;
+import com.deepviewsystems.user_service.repositories.RoleRepository;
+import com.deepviewsystems.user_service.security.AuthoritySet;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro inmutable en memoria de los roles, cargado de la base la primera vez que se usa.
+ *
+ * Los roles son unas pocas constantes: en lugar de cargarlos con cada usuario, el registro asigna
+ * a cada uno un bit (por orden de id) y traduce los ids de rol de un usuario a un
+ * {@link AuthoritySet} internado por bitmask. El bitmask solo se usa dentro del proceso; no se
+ * persiste ni viaja en los tokens.
+ *
+ * Un alta, baja o cambio de {@link Role} confirmado en esta instancia marca el registro como
+ * obsoleto y se recarga en el siguiente acceso. Un id de rol desconocido (alta hecha por otra
+ * réplica) también fuerza una recarga, y los cambios de otras réplicas se ven al caducar el
+ * registro ({@code app.cache.roles.ttl-seconds}, como la caché de segundo nivel de roles). Si la
+ * recarga encuentra los mismos roles conserva los {@link AuthoritySet} ya internados.
+ */
+@Slf4j
+@Component
+public class RoleRegistry implements
+        PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final int MAX_ROLES = Long.SIZE;
+
+    private final RoleRepository roleRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Duration ttl;
+
+    private volatile Snapshot snapshot;
+    // Evita que una recarga que leyó antes de una invalidación publique datos viejos
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder reloads = new LongAdder();
+
+    public RoleRegistry(RoleRepository roleRepository,
+                        EntityManagerFactory entityManagerFactory,
+                        @Value("${app.cache.roles.ttl-seconds:600}") long ttlSeconds) {
+        this.roleRepository = roleRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    public Optional<Long> findIdByAuthority(String authority) {
+        return Optional.ofNullable(current().idByAuthority().get(authority));
+    }
+
+    public Map<String, Long> idsByAuthority() {
+        return current().idByAuthority();
+    }
+
+    public AuthoritySet fromRoleIds(Collection<Long> roleIds) {
+        if (roleIds.isEmpty()) {
+            return AuthoritySet.EMPTY;
+        }
+        Snapshot current = current();
+        if (!current.bitById().keySet().containsAll(roleIds)) {
+            current = reload(current);
+        }
+        long mask = 0;
+        for (Long roleId : roleIds) {
+            Integer bit = current.bitById().get(roleId);
+            if (bit == null) {
+                log.warn("Rol desconocido ignorado: id={}", roleId);
+                continue;
+            }
+            mask |= 1L << bit;
+        }
+        return current.intern(mask);
+    }
+
+    public AuthoritySet fromRoles(Collection<Role> roles) {
+        // getId() no inicializa los proxies: sirve también con referencias sin cargar
+        return fromRoleIds(roles.stream().map(Role::getId).toList());
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    // Hibernate avisa a todo el grupo post-commit en cuanto un listener lo pide para otra entidad
+    // (User en UserCacheInvalidationListener y RegisteredEmailFilter): hay que filtrar aquí.
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (!(event.getEntity() instanceof Role)) {
+            return;
+        }
+        invalidate();
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Sin commit no hay cambio que reflejar
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Role)) {
+            return;
+        }
+        invalidate();
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Sin commit no hay cambio que reflejar
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (!(event.getEntity() instanceof Role)) {
+            return;
+        }
+        invalidate();
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Sin commit no hay cambio que reflejar
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Role.class.equals(persister.getMappedClass());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null && Instant.now().isBefore(current.expiresAt()) ? current : reload(current);
+    }
+
+    /**
+     * Recarga salvo que otro hilo ya haya sustituido {@code stale} mientras este esperaba el lock.
+     */
+    private synchronized Snapshot reload(Snapshot stale) {
+        Snapshot previous = snapshot;
+        if (previous != null && previous != stale && Instant.now().isBefore(previous.expiresAt())) {
+            return previous;
+        }
+        long startedAt = generation.get();
+        List<Role> roles = roleRepository.findAll(Sort.by("id"));
+        if (roles.size() > MAX_ROLES) {
+            throw new IllegalStateException("El registro admite hasta " + MAX_ROLES + " roles, hay " + roles.size());
+        }
+        Map<String, Long> idByAuthority = new HashMap<>();
+        Map<Long, Integer> bitById = new HashMap<>();
+        List<String> authorityByBit = new ArrayList<>(roles.size());
+        for (Role role : roles) {
+            bitById.put(role.getId(), authorityByBit.size());
+            idByAuthority.put(role.getAuthority(), role.getId());
+            authorityByBit.add(role.getAuthority());
+        }
+        // Mismos roles y mismos bits: los AuthoritySet internados siguen siendo válidos
+        ConcurrentMap<Long, AuthoritySet> interned = previous != null
+                && previous.bitById().equals(bitById) && previous.authorityByBit().equals(authorityByBit)
+                ? previous.interned()
+                : new ConcurrentHashMap<>();
+        Snapshot loaded = new Snapshot(Map.copyOf(idByAuthority), Map.copyOf(bitById), List.copyOf(authorityByBit),
+                interned, Instant.now().plus(ttl));
+        if (generation.get() == startedAt) {
+            snapshot = loaded;
+        }
+        reloads.increment();
+        log.debug("Registro de roles cargado: {}", authorityByBit);
+        return loaded;
+    }
+
+    long reloadCount() {
+        return reloads.sum();
+    }
+
+    private record Snapshot(Map<String, Long> idByAuthority,
+                            Map<Long, Integer> bitById,
+                            List<String> authorityByBit,
+                            ConcurrentMap<Long, AuthoritySet> interned,
+                            Instant expiresAt) {
+
+        AuthoritySet intern(long mask) {
+            if (mask == 0) {
+                return AuthoritySet.EMPTY;
+            }
+            return interned.computeIfAbsent(mask, key -> {
+                List<String> names = new ArrayList<>(Long.bitCount(key));
+                for (int bit = 0; bit < authorityByBit.size(); bit++) {
+                    if ((key & (1L << bit)) != 0) {
+                        names.add(authorityByBit.get(bit));
+                    }
+                }
+                return AuthoritySet.of(names);
+            });
+        }
+    }
+}
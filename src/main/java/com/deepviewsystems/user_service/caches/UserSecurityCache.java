@@ -0,0 +1,176 @@
+package com.deepviewsystems.user_service.caches;
+
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.mappers.UserMapper;
+import com.deepviewsystems.user_service.records.UserSecuritySnapshot;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import com.deepviewsystems.user_service.utils.EmailUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché en memoria de {@link UserSecuritySnapshot} indexada por id y por email normalizado.
+ *
+ * Las instantáneas viven en una única caché por id; el índice por email solo guarda el id,
+ * así una invalidación por id basta aunque el email haya cambiado (la entrada del índice
+ * deja de coincidir con la instantánea y se descarta en la siguiente búsqueda).
+ * La invalidación la dispara {@link UserCacheInvalidationListener} tras cada commit; las
+ * actualizaciones masivas por JPQL deben llamar a {@link #invalidate(Long)} explícitamente.
+ * Los cambios hechos en otras réplicas llegan con {@link AccessTokenRevocationList}: toda
+ * operación que cierra sesiones (reseteo de contraseña, bloqueo) registra una revocación, y su
+ * lectura periódica invalida al usuario; el resto de cambios se ven al caducar la entrada.
+ *
+ * Cada invalidación deja un sello por id; una carga que empezó antes de ese sello no guarda su
+ * instantánea, porque pudo leer el estado anterior al cambio.
+ */
+@Slf4j
+@Component
+public class UserSecurityCache {
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final UserMapper userMapper;
+    private final Cache<Long, UserSecuritySnapshot> byId;
+    private final Cache<String, Long> idByEmail;
+    private final Cache<Long, Long> invalidatedAt;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long invalidatedAllAt;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserSecurityCache(UserRepository userRepository,
+                             RoleRegistry roleRegistry,
+                             UserMapper userMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.cache.users.maximum-size:50000}") long maximumSize,
+                             @Value("${app.cache.users.ttl-seconds:120}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.userMapper = userMapper;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .removalListener((Long id, UserSecuritySnapshot snapshot, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        // Basta con que el sello dure más que cualquier carga en curso
+        this.invalidatedAt = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        // Mismos nombres que CaffeineCacheMetrics; hit/miss se cuentan a mano porque una
+        // búsqueda por email consulta dos cachés
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", "user-security", "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", "user-security", "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", "user-security")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", byId, Cache::estimatedSize)
+                .tag("cache", "user-security")
+                .register(meterRegistry);
+    }
+
+    public Optional<UserSecuritySnapshot> findByEmail(String email) {
+        String normalized = EmailUtils.normalize(email);
+        Long id = idByEmail.getIfPresent(normalized);
+        if (id != null) {
+            UserSecuritySnapshot cached = byId.getIfPresent(id);
+            if (cached != null && cached.email().equals(normalized)) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            idByEmail.invalidate(normalized);
+        }
+
+        misses.increment();
+        long startedAt = generation.get();
+        Optional<UserSecuritySnapshot> loaded = userRepository.findByEmail(normalized).map(this::load);
+        loaded.ifPresent(snapshot -> put(snapshot, startedAt));
+        return loaded;
+    }
+
+    public Optional<UserSecuritySnapshot> findById(Long id) {
+        UserSecuritySnapshot cached = byId.getIfPresent(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        misses.increment();
+        long startedAt = generation.get();
+        Optional<UserSecuritySnapshot> loaded = userRepository.findById(id).map(this::load);
+        loaded.ifPresent(snapshot -> put(snapshot, startedAt));
+        return loaded;
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            // El sello va antes del borrado: un put concurrente o ve el sello o su entrada se borra
+            invalidatedAt.put(userId, generation.incrementAndGet());
+            byId.invalidate(userId);
+            log.debug("Instantánea de seguridad invalidada: userId={}", userId);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidatedAllAt = generation.incrementAndGet();
+        byId.invalidateAll();
+        idByEmail.invalidateAll();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), byId.estimatedSize());
+    }
+
+    private UserSecuritySnapshot load(User user) {
+        return userMapper.toSecuritySnapshot(user, roleRegistry.fromRoleIds(userRepository.findRoleIds(user.getId())));
+    }
+
+    private void put(UserSecuritySnapshot snapshot, long startedAt) {
+        // compute bloquea la clave: la comprobación y la escritura no se intercalan con un borrado
+        UserSecuritySnapshot stored = byId.asMap().compute(snapshot.id(), (id, current) -> {
+            Long stamp = invalidatedAt.getIfPresent(id);
+            boolean stale = invalidatedAllAt > startedAt || (stamp != null && stamp > startedAt);
+            return stale ? current : snapshot;
+        });
+        if (stored == snapshot) {
+            idByEmail.put(snapshot.email(), snapshot.id());
+        } else {
+            log.debug("Instantánea descartada, invalidada durante la carga: userId={}", snapshot.id());
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, long size) {
+
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
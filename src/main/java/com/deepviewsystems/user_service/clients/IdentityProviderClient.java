@@ -0,0 +1,153 @@
+package com.deepviewsystems.user_service.clients;
+
+import com.deepviewsystems.user_service.configs.OutboundHttpProperties;
+import com.deepviewsystems.user_service.exceptions.IdentityProviderException;
+import com.deepviewsystems.user_service.exceptions.ServiceOverloadedException;
+import com.deepviewsystems.user_service.utils.TokenUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.Base64;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente HTTP de un proveedor de identidad concreto.
+ *
+ * Cada llamada pasa por el bulkhead (semáforo sin espera) y el circuit breaker del proveedor, y
+ * se mide en {@code idp.http.requests} con el proveedor y el resultado como tags. Los 4xx los
+ * provoca el token del usuario, no el proveedor, así que no cuentan como fallo del circuito.
+ */
+public class IdentityProviderClient {
+
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final String provider;
+    private final RestTemplate restTemplate;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Cache<String, Object> userinfoCache;
+    private final MeterRegistry meterRegistry;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    IdentityProviderClient(String provider, RestTemplate restTemplate,
+                           OutboundHttpProperties.Provider settings, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.restTemplate = restTemplate;
+        this.bulkhead = new Semaphore(settings.getMaxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(settings.getFailureThreshold(), settings.getOpenDuration());
+        this.userinfoCache = settings.getUserinfoCacheTtl().isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(settings.getUserinfoCacheMaxSize())
+                .expireAfterWrite(settings.getUserinfoCacheTtl())
+                .build();
+        this.meterRegistry = meterRegistry;
+        this.cacheHits = Counter.builder("idp.http.cache")
+                .tag("provider", provider).tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("idp.http.cache")
+                .tag("provider", provider).tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("idp.http.circuit.open", circuitBreaker, cb -> cb.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("1 si el circuito del proveedor está abierto o en prueba")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("idp.http.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Llamadas simultáneas que aún admite el proveedor")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public <T> ResponseEntity<T> exchange(RequestEntity<?> request, Class<T> responseType) {
+        if (!bulkhead.tryAcquire()) {
+            record("bulkhead_full", 0);
+            throw new ServiceOverloadedException("Demasiadas llamadas simultáneas a " + provider);
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            record("circuit_open", 0);
+            throw new ServiceOverloadedException("Proveedor " + provider + " no disponible temporalmente");
+        }
+
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<T> response = restTemplate.exchange(request, responseType);
+            circuitBreaker.onSuccess();
+            record("success", System.nanoTime() - start);
+            return response;
+        } catch (HttpClientErrorException e) {
+            circuitBreaker.onSuccess();
+            record("client_error", System.nanoTime() - start);
+            throw e;
+        } catch (RestClientResponseException e) {
+            circuitBreaker.onFailure();
+            record("server_error", System.nanoTime() - start);
+            throw new IdentityProviderException("Error del proveedor " + provider, e);
+        } catch (RestClientException e) {
+            circuitBreaker.onFailure();
+            record("io_error", System.nanoTime() - start);
+            throw new IdentityProviderException("Sin respuesta del proveedor " + provider, e);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * GET idempotente autenticado con un bearer token (userinfo), cacheado unos segundos.
+     *
+     * La clave de la caché es el SHA-256 del token, nunca el token en claro; los errores no se cachean.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getUserInfo(URI uri, String bearerToken, Class<T> responseType) {
+        if (userinfoCache == null) {
+            return fetchUserInfo(uri, bearerToken, responseType);
+        }
+        String key = uri + "#" + KEY_ENCODER.encodeToString(TokenUtils.hash(bearerToken));
+        Object cached = userinfoCache.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return (T) cached;
+        }
+        cacheMisses.increment();
+        T body = fetchUserInfo(uri, bearerToken, responseType);
+        if (body != null) {
+            userinfoCache.put(key, body);
+        }
+        return body;
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T fetchUserInfo(URI uri, String bearerToken, Class<T> responseType) {
+        RequestEntity<Void> request = RequestEntity.get(uri)
+                .headers(headers -> headers.setBearerAuth(bearerToken))
+                .build();
+        return exchange(request, responseType).getBody();
+    }
+
+    private void record(String outcome, long nanos) {
+        Timer.builder("idp.http.requests")
+                .description("Llamadas a proveedores de identidad externos")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
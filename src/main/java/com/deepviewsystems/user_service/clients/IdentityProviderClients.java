@@ -0,0 +1,57 @@
+package com.deepviewsystems.user_service.clients;
+
+import com.deepviewsystems.user_service.configs.OutboundHttpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de clientes por proveedor de identidad.
+ *
+ * Todos comparten el pool de conexiones del {@link HttpClient} saliente; cada proveedor tiene sus
+ * propios timeouts, bulkhead, circuit breaker y caché, de modo que un proveedor lento no agota
+ * los recursos de los demás. Un proveedor nuevo no necesita código aquí: basta con pedir su
+ * cliente y, si hace falta, ajustar {@code app.http.outbound.providers.<nombre>.*}.
+ */
+@Component
+public class IdentityProviderClients {
+
+    private final HttpClient httpClient;
+    private final OutboundHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final Map<String, IdentityProviderClient> clients = new ConcurrentHashMap<>();
+
+    public IdentityProviderClients(HttpClient outboundHttpClient,
+                                   OutboundHttpProperties properties,
+                                   MeterRegistry meterRegistry,
+                                   ObservationRegistry observationRegistry) {
+        this.httpClient = outboundHttpClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    public IdentityProviderClient forProvider(String provider) {
+        return clients.computeIfAbsent(provider.toLowerCase(Locale.ROOT), this::create);
+    }
+
+    private IdentityProviderClient create(String provider) {
+        OutboundHttpProperties.Provider settings = properties.provider(provider);
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setConnectTimeout(settings.getConnectTimeout());
+        factory.setConnectionRequestTimeout(settings.getConnectionRequestTimeout());
+        factory.setReadTimeout(settings.getReadTimeout());
+        RestTemplate restTemplate = new RestTemplate(factory);
+        // Timer y span http.client.requests dentro de la traza del login
+        restTemplate.setObservationRegistry(observationRegistry);
+        return new IdentityProviderClient(provider, restTemplate, settings, meterRegistry);
+    }
+}
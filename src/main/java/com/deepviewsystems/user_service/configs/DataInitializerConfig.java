@@ -0,0 +1,50 @@
+package com.deepviewsystems.user_service.configs;
+
+import com.deepviewsystems.user_service.entities.AuthProvider;
+import com.deepviewsystems.user_service.entities.Role;
+import com.deepviewsystems.user_service.repositories.AuthProviderRepository;
+import com.deepviewsystems.user_service.repositories.RoleRepository;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Crea los roles y proveedores de autenticación base si todavía no existen.
+ */
+@Slf4j
+@Configuration
+public class DataInitializerConfig {
+
+    private static final List<String> DEFAULT_ROLES = List.of(
+            SecurityConstants.ROLE_USER,
+            SecurityConstants.ROLE_ADMIN);
+
+    private static final List<String> DEFAULT_PROVIDERS = List.of(
+            SecurityConstants.PROVIDER_LOCAL,
+            SecurityConstants.PROVIDER_GOOGLE,
+            SecurityConstants.PROVIDER_LINKEDIN);
+
+    @Bean
+    public ApplicationRunner referenceDataInitializer(RoleRepository roleRepository,
+                                                      AuthProviderRepository authProviderRepository) {
+        return args -> {
+            DEFAULT_ROLES.stream()
+                    .filter(authority -> roleRepository.findByAuthority(authority).isEmpty())
+                    .forEach(authority -> {
+                        roleRepository.save(Role.builder().authority(authority).build());
+                        log.info("Rol creado: {}", authority);
+                    });
+
+            DEFAULT_PROVIDERS.stream()
+                    .filter(name -> authProviderRepository.findByName(name).isEmpty())
+                    .forEach(name -> {
+                        authProviderRepository.save(AuthProvider.builder().name(name).build());
+                        log.info("Proveedor de autenticación creado: {}", name);
+                    });
+        };
+    }
+}
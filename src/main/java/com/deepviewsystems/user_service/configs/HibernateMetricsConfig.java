@@ -0,0 +1,28 @@
+package com.deepviewsystems.user_service.configs;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Con las estadísticas de Hibernate activas solo se publican las métricas de la caché de segundo
+ * nivel y de la caché de consultas; el resto (sesiones, sentencias, entidades...) se descarta.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jpa.cache-metrics.enabled", havingValue = "true")
+public class HibernateMetricsConfig {
+
+    private static final List<String> CACHE_METRICS = List.of(
+            "hibernate.second.level.cache.",
+            "hibernate.cache.query.requests",
+            "hibernate.cache.query.puts");
+
+    @Bean
+    public MeterFilter hibernateCacheMetricsOnly() {
+        return MeterFilter.deny(id -> id.getName().startsWith("hibernate.")
+                && CACHE_METRICS.stream().noneMatch(id.getName()::startsWith));
+    }
+}
@@ -0,0 +1,54 @@
+package com.deepviewsystems.user_service.configs;
+
+import com.deepviewsystems.user_service.records.ApiResponse;
+import com.deepviewsystems.user_service.records.AuthResponse;
+import com.deepviewsystems.user_service.records.UserProfileResponse;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Serialización JSON: el {@link ObjectMapper} lo construye Spring Boot (fechas ISO-8601,
+ * módulos java.time) y aquí se le suma Blackbird, que sustituye la reflexión de los accesores por
+ * lambdas generadas en tiempo de ejecución. Los payloads de auth y perfil se escriben con
+ * {@link PreboundJsonHttpMessageConverter}.
+ */
+@Configuration
+public class JacksonConfig implements WebMvcConfigurer {
+
+    private static final List<Type> PREBOUND_TYPES = List.of(
+            apiResponseOf(ResolvableType.forClass(AuthResponse.class)),
+            apiResponseOf(ResolvableType.forClass(UserProfileResponse.class)),
+            apiResponseOf(ResolvableType.forClassWithGenerics(List.class, UserProfileResponse.class)),
+            apiResponseOf(ResolvableType.forClass(Void.class)));
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Boot registra en su ObjectMapper cualquier bean de tipo Module
+    @Bean
+    public static Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Primero: para los tipos precargados gana al conversor Jackson genérico
+        converters.add(0, new PreboundJsonHttpMessageConverter(objectMapper, PREBOUND_TYPES));
+    }
+
+    private static Type apiResponseOf(ResolvableType data) {
+        return ResolvableType.forClassWithGenerics(ApiResponse.class, data).getType();
+    }
+}
@@ -0,0 +1,28 @@
+package com.deepviewsystems.user_service.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+@Configuration
+@EnableJpaAuditing(auditorAwareRef = "auditorAware")
+public class JpaAuditingConfig {
+
+    // Auditor usado cuando no hay un usuario autenticado (registro, login, tareas programadas)
+    private static final String SYSTEM_AUDITOR = "system";
+
+    @Bean
+    public AuditorAware<String> auditorAware() {
+        return () -> Optional.of(Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .filter(authentication -> !(authentication instanceof AnonymousAuthenticationToken))
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getName)
+                .orElse(SYSTEM_AUDITOR));
+    }
+}
@@ -4,15 +4,17 @@ import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 public class ModelMapperConfig {
 
+    /**
+     * Solo como respaldo para conversiones sin mapper tipado (ver {@code mappers.UserMapper}):
+     * resuelve los mapeos por reflexión. Lazy para no construirlo si nadie lo inyecta.
+     */
     @Bean
+    @Lazy
     public ModelMapper modelMapper() {
         
         ModelMapper modelMapper = new ModelMapper();
@@ -25,12 +27,4 @@ public class ModelMapperConfig {
         
         return modelMapper;
     }
-    
-    @Bean
-    public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        return mapper;
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.deepviewsystems.user_service.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Configuración del cliente HTTP saliente ({@code app.http.outbound.*}).
+ *
+ * El pool es compartido; timeouts, bulkhead, circuit breaker y caché de userinfo se ajustan por
+ * proveedor en {@code app.http.outbound.providers.<nombre>.*}. Un proveedor sin entrada usa
+ * los valores de {@link Provider} por defecto.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.http.outbound")
+public class OutboundHttpProperties {
+
+    private int maxConnectionsTotal = 100;
+    private int maxConnectionsPerRoute = 20;
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    private Duration idleEvictionInterval = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(10);
+
+    private Map<String, Provider> providers = new HashMap<>();
+
+    public Provider provider(String name) {
+        return providers.getOrDefault(name.toLowerCase(Locale.ROOT), new Provider());
+    }
+
+    @Getter
+    @Setter
+    public static class Provider {
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration connectionRequestTimeout = Duration.ofMillis(500);
+        private Duration readTimeout = Duration.ofSeconds(3);
+
+        /**
+         * Llamadas simultáneas permitidas; el resto se rechaza sin esperar.
+         */
+        private int maxConcurrentCalls = 20;
+
+        /**
+         * Fallos consecutivos (5xx, timeouts, errores de red) que abren el circuito.
+         */
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Vigencia de las respuestas de userinfo en caché; 0 la deshabilita.
+         */
+        private Duration userinfoCacheTtl = Duration.ofSeconds(60);
+        private long userinfoCacheMaxSize = 10_000;
+    }
+}
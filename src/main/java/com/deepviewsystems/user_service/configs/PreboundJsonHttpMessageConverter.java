@@ -0,0 +1,98 @@
+package com.deepviewsystems.user_service.configs;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Escribe a JSON los tipos de respuesta más frecuentes con {@link ObjectWriter}s resueltos al arrancar.
+ *
+ * El conversor genérico de Spring resuelve el {@code JavaType} y crea un writer en cada respuesta;
+ * aquí eso se hace una vez por tipo y la respuesta se serializa directamente sobre el stream de
+ * salida, con los buffers reciclados de Jackson. Solo escribe: la lectura y cualquier otro tipo
+ * siguen en el conversor estándar.
+ */
+public class PreboundJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final List<Binding> bindings;
+
+    public PreboundJsonHttpMessageConverter(ObjectMapper objectMapper, Collection<Type> types) {
+        super(MediaType.APPLICATION_JSON);
+        List<Binding> resolved = new ArrayList<>(types.size());
+        for (Type type : types) {
+            ObjectWriter writer = objectMapper.writerFor(objectMapper.constructType(type))
+                    // El contenedor cierra el stream de la respuesta
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            resolved.add(new Binding(type, writer));
+        }
+        this.bindings = List.copyOf(resolved);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return type != null && findWriter(type) != null && canWrite(mediaType);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // Sin tipo genérico no hay writer asociado: solo se usa vía canWrite(Type, ...)
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        ObjectWriter writer = type == null ? null : findWriter(type);
+        if (writer == null) {
+            throw new IllegalStateException("Tipo sin writer precargado: " + type);
+        }
+        writer.writeValue(outputMessage.getBody(), value);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Conversor de solo escritura");
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Conversor de solo escritura");
+    }
+
+    /**
+     * Búsqueda lineal: hay pocos tipos y los {@code ParameterizedType} del JDK y de Spring son
+     * iguales entre sí pero no comparten hashCode, así que no sirven como clave de un HashMap.
+     */
+    @Nullable
+    ObjectWriter findWriter(Type type) {
+        for (Binding binding : bindings) {
+            if (binding.type().equals(type) || type.equals(binding.type())) {
+                return binding.writer();
+            }
+        }
+        return null;
+    }
+
+    private record Binding(Type type, ObjectWriter writer) {
+    }
+}
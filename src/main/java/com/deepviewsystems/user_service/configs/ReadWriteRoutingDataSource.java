@@ -0,0 +1,202 @@
+package com.deepviewsystems.user_service.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las transacciones de solo lectura a las réplicas y el resto al principal.
+ *
+ * Decide al pedir la conexión, así que debe usarse detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: así la conexión se
+ * obtiene en la primera sentencia, cuando ya se sabe si la transacción es de solo lectura.
+ *
+ * <ul>
+ *   <li>Lectura tras escritura: una transacción de escritura fija el resto de la petición HTTP al
+ *       principal, para que las lecturas siguientes vean lo escrito aunque la réplica vaya con retraso.</li>
+ *   <li>Salud: cada réplica se comprueba periódicamente (conexión válida y, si se configura, retraso
+ *       máximo). Una réplica que falla al dar conexión se marca caída al momento. Sin réplicas sanas
+ *       las lecturas van al principal.</li>
+ * </ul>
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final String PINNED_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".PINNED";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      Duration healthCheckInterval, String lagQuery, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthChecker.scheduleWithFixedDelay(this::checkReplicas,
+                healthCheckInterval.toMillis(), healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            replica.markDown(e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Comprueba las réplicas y reactiva las que vuelven a responder.
+     */
+    public void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    public long healthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() throws IOException {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * @return la réplica a usar, o {@code null} para el principal
+     */
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinToPrimary();
+            return null;
+        }
+        if (replicas.isEmpty() || isPinnedToPrimary()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica candidate = replicas.get((start + i) % replicas.size());
+            if (candidate.healthy) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static void pinToPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isPinnedToPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(2)) {
+                replica.markDown("conexión no válida");
+                return;
+            }
+            if (lagQuery != null) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                    if (lagSeconds > maxLagSeconds) {
+                        replica.markDown("retraso de " + Math.round(lagSeconds) + " s");
+                        return;
+                    }
+                }
+            }
+            replica.markUp();
+        } catch (SQLException e) {
+            replica.markDown(e.getMessage());
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Réplica {} fuera de servicio, las lecturas van al principal: {}", name, reason);
+            }
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Réplica {} disponible de nuevo", name);
+            }
+        }
+    }
+}
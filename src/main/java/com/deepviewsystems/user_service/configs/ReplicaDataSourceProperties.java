@@ -0,0 +1,42 @@
+package com.deepviewsystems.user_service.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de solo lectura ({@code app.datasource.*}). Sin réplicas configuradas todo va al
+ * datasource principal de {@code spring.datasource.*}, como siempre.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Consulta que devuelve el retraso de la réplica en segundos; vacía = no se comprueba el retraso.
+     */
+    private String lagQuery;
+
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -1,18 +1,77 @@
 package com.deepviewsystems.user_service.configs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+/**
+ * Cliente HTTP saliente con pool de conexiones persistentes (keep-alive).
+ *
+ * Todas las llamadas a proveedores externos comparten el pool; los límites por proveedor los
+ * aplica {@link com.deepviewsystems.user_service.clients.IdentityProviderClients}.
+ */
 @Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000); // 5 segundos
-        factory.setReadTimeout(10000);   // 10 segundos
+    public PoolingHttpClientConnectionManager outboundConnectionManager(OutboundHttpProperties properties,
+                                                                        MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnectionsTotal())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(timeValue(properties.getConnectionTimeToLive()))
+                        .setValidateAfterInactivity(timeValue(properties.getValidateAfterInactivity()))
+                        .build())
+                .build();
+
+        Gauge.builder("http.client.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .description("Conexiones salientes en uso")
+                .register(meterRegistry);
+        Gauge.builder("http.client.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .description("Conexiones salientes ociosas listas para reutilizar")
+                .register(meterRegistry);
+        Gauge.builder("http.client.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("Peticiones esperando una conexión del pool")
+                .register(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(PoolingHttpClientConnectionManager outboundConnectionManager,
+                                                  OutboundHttpProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(timeValue(properties.getIdleEvictionInterval()))
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient outboundHttpClient) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(outboundHttpClient);
+        factory.setConnectTimeout(Duration.ofSeconds(5));
+        factory.setReadTimeout(Duration.ofSeconds(10));
         return new RestTemplate(factory);
     }
 
-} 
\ No newline at end of file
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
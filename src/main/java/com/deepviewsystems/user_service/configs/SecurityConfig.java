@@ -0,0 +1,82 @@
+package com.deepviewsystems.user_service.configs;
+
+import com.deepviewsystems.user_service.security.JwtAuthenticationFilter;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import com.deepviewsystems.user_service.security.SigningKeyRing;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+@Configuration
+@EnableWebSecurity
+@RequiredArgsConstructor
+public class SecurityConfig {
+
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final CorsConfigurationSource corsConfigurationSource;
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // Rutas completas, no relativas al DispatcherServlet: la consola H2 es otro servlet
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .cors(cors -> cors.configurationSource(corsConfigurationSource))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Necesario para que la consola H2 se pueda mostrar en un frame
+                .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(
+                                paths.matcher("/h2-console/**"),
+                                paths.matcher("/api/auth/**"),
+                                paths.matcher("/.well-known/**"),
+                                paths.matcher("/v3/api-docs/**"),
+                                paths.matcher("/swagger-ui/**"),
+                                paths.matcher("/swagger-ui.html"),
+                                paths.matcher("/error")).permitAll()
+                        // Sondas y scraping de Prometheus; el resto de actuator solo para administradores
+                        .requestMatchers(
+                                paths.matcher("/actuator/health/**"),
+                                paths.matcher("/actuator/prometheus")).permitAll()
+                        .requestMatchers(paths.matcher("/actuator/**")).hasAuthority(SecurityConstants.ROLE_ADMIN)
+                        .requestMatchers(paths.matcher("/api/admin/**")).hasAuthority(SecurityConstants.ROLE_ADMIN)
+                        .anyRequest().authenticated())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    /**
+     * Al subir el coste, los hashes existentes se regeneran en el siguiente login exitoso.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Expone el anillo de claves a Spring Authorization Server para que no genere un par propio.
+     */
+    @Bean
+    public JWKSource<SecurityContext> jwkSource(SigningKeyRing signingKeyRing) {
+        return (jwkSelector, context) -> jwkSelector.select(signingKeyRing.jwkSet());
+    }
+}
@@ -0,0 +1,63 @@
+package com.deepviewsystems.user_service.controllers;
+
+import com.deepviewsystems.user_service.auditlog.AuthEventLog;
+import com.deepviewsystems.user_service.records.AuthEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/admin/auth-events")
+@RequiredArgsConstructor
+public class AdminAuditController {
+
+    private final AuthEventLog authEventLog;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Exporta en NDJSON los eventos de autenticación de esta réplica entre {@code from} y {@code to}
+     * (por defecto, las últimas 24 horas). Se escriben a medida que se leen de los segmentos.
+     */
+    @GetMapping(produces = AdminUserController.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant end = to == null ? Instant.now() : to;
+        Instant start = from == null ? end.minus(Duration.ofDays(1)) : from;
+        ObjectWriter writer = objectMapper.writerFor(AuthEvent.class);
+
+        StreamingResponseBody body = output -> {
+            OutputStream out = new BufferedOutputStream(output);
+            try (Stream<AuthEvent> events = authEventLog.stream(start, end)) {
+                Iterator<AuthEvent> iterator = events.iterator();
+                while (iterator.hasNext()) {
+                    out.write(writer.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                }
+            } catch (UncheckedIOException e) {
+                throw new IOException(e.getCause());
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(AdminUserController.APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+}
@@ -0,0 +1,84 @@
+package com.deepviewsystems.user_service.controllers;
+
+import com.deepviewsystems.user_service.records.ApiResponse;
+import com.deepviewsystems.user_service.records.UserImportProgress;
+import com.deepviewsystems.user_service.records.UserImportResult;
+import com.deepviewsystems.user_service.records.UserProfileResponse;
+import com.deepviewsystems.user_service.records.UserProfilesRequest;
+import com.deepviewsystems.user_service.services.UserExportService;
+import com.deepviewsystems.user_service.services.UserImportService;
+import com.deepviewsystems.user_service.services.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final UserImportService userImportService;
+    private final UserService userService;
+    private final UserExportService userExportService;
+
+    /**
+     * Importa usuarios leyendo el cuerpo de la petición en streaming (NDJSON o CSV con cabecera email,password,roles).
+     */
+    @PostMapping(value = "/import", consumes = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<ApiResponse<UserImportResult>> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        return ResponseEntity.ok(ApiResponse.success("Importación finalizada", userImportService.importUsers(body, format)));
+    }
+
+    /**
+     * Perfiles de varios usuarios en una sola llamada (POST para no limitar la lista de ids a la URL).
+     */
+    @PostMapping("/profiles")
+    public ResponseEntity<ApiResponse<List<UserProfileResponse>>> profiles(@Valid @RequestBody UserProfilesRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Perfiles obtenidos exitosamente", userService.getProfiles(request.ids())));
+    }
+
+    /**
+     * Exporta todos los usuarios por id ascendente, en NDJSON o CSV según {@code Accept}. Para
+     * reanudar una exportación cortada se pasa como {@code after} el último id recibido.
+     */
+    @GetMapping(value = "/export", produces = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = APPLICATION_NDJSON_VALUE) String accept,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "0") long limit) {
+        boolean csv = MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(mediaType -> mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE)) && !mediaType.isWildcardType());
+        UserExportService.Format format = csv ? UserExportService.Format.CSV : UserExportService.Format.NDJSON;
+        StreamingResponseBody body = output -> userExportService.export(output, format, after, limit);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? TEXT_CSV_VALUE : APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping("/import/progress")
+    public ResponseEntity<ApiResponse<List<UserImportProgress>>> importProgress() {
+        return ResponseEntity.ok(ApiResponse.success("Importaciones en curso", userImportService.currentImports()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.deepviewsystems.user_service.controllers;
+
+import com.deepviewsystems.user_service.observability.AuthFlowObserver;
+import com.deepviewsystems.user_service.records.ApiResponse;
+import com.deepviewsystems.user_service.records.AuthResponse;
+import com.deepviewsystems.user_service.records.ChangePasswordRequest;
+import com.deepviewsystems.user_service.records.GoogleLoginRequest;
+import com.deepviewsystems.user_service.records.LinkedInLoginRequest;
+import com.deepviewsystems.user_service.records.LoginRequest;
+import com.deepviewsystems.user_service.records.PasswordResetRequest;
+import com.deepviewsystems.user_service.records.RefreshTokenRequest;
+import com.deepviewsystems.user_service.records.RegisterUserRequest;
+import com.deepviewsystems.user_service.security.LoginThrottle;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import com.deepviewsystems.user_service.services.AuthService;
+import com.deepviewsystems.user_service.services.PasswordResetService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthService authService;
+    private final PasswordResetService passwordResetService;
+    private final AuthFlowObserver authFlowObserver;
+    private final LoginThrottle loginThrottle;
+
+    @PostMapping("/register")
+    public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody RegisterUserRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Usuario registrado exitosamente", authFlowObserver.observe(
+                        AuthFlowObserver.FLOW_REGISTER, SecurityConstants.PROVIDER_LOCAL, request.email(),
+                        () -> authService.register(request))));
+    }
+
+    @PostMapping("/login")
+    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                           HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(ApiResponse.success("Login exitoso", authFlowObserver.observe(
+                AuthFlowObserver.FLOW_LOGIN, SecurityConstants.PROVIDER_LOCAL, request.email(), () -> {
+                    // Antes de la transacción: un intento rechazado no ocupa conexión ni hilo de hashing
+                    loginThrottle.acquire(request.email(), httpRequest.getRemoteAddr());
+                    return authService.login(request);
+                })));
+    }
+
+    @PostMapping("/google")
+    public ResponseEntity<ApiResponse<AuthResponse>> googleLogin(@Valid @RequestBody GoogleLoginRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Login exitoso", authFlowObserver.observe(
+                AuthFlowObserver.FLOW_LOGIN, SecurityConstants.PROVIDER_GOOGLE,
+                () -> authService.socialLogin(SecurityConstants.PROVIDER_GOOGLE, request.googleToken()))));
+    }
+
+    @PostMapping("/linkedin")
+    public ResponseEntity<ApiResponse<AuthResponse>> linkedInLogin(@Valid @RequestBody LinkedInLoginRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Login exitoso", authFlowObserver.observe(
+                AuthFlowObserver.FLOW_LOGIN, SecurityConstants.PROVIDER_LINKEDIN,
+                () -> authService.socialLogin(SecurityConstants.PROVIDER_LINKEDIN, request.linkedinToken()))));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Token renovado exitosamente", authFlowObserver.observe(
+                AuthFlowObserver.FLOW_REFRESH, SecurityConstants.PROVIDER_LOCAL, () -> authService.refresh(request))));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authFlowObserver.observe(AuthFlowObserver.FLOW_LOGOUT, SecurityConstants.PROVIDER_LOCAL,
+                () -> authService.logout(request));
+        return ResponseEntity.ok(ApiResponse.success("Sesión cerrada exitosamente"));
+    }
+
+    @PostMapping("/password/forgot")
+    public ResponseEntity<ApiResponse<Void>> forgotPassword(@Valid @RequestBody PasswordResetRequest request) {
+        authFlowObserver.observe(AuthFlowObserver.FLOW_RESET_REQUEST, SecurityConstants.PROVIDER_LOCAL, request.email(),
+                () -> passwordResetService.requestReset(request));
+        return ResponseEntity.ok(ApiResponse.success("Si el email está registrado recibirá un enlace de reseteo"));
+    }
+
+    @PostMapping("/password/reset")
+    public ResponseEntity<ApiResponse<Void>> resetPassword(@Valid @RequestBody ChangePasswordRequest request) {
+        authFlowObserver.observe(AuthFlowObserver.FLOW_RESET_CONFIRM, SecurityConstants.PROVIDER_LOCAL,
+                () -> passwordResetService.changePassword(request));
+        return ResponseEntity.ok(ApiResponse.success("Contraseña actualizada exitosamente"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.deepviewsystems.user_service.controllers;
+
+import com.deepviewsystems.user_service.security.SigningKeyRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publica las claves públicas de firma para que el gateway y los demás servicios
+ * validen los access tokens localmente.
+ */
+@RestController
+public class JwksController {
+
+    private final SigningKeyRing signingKeyRing;
+    private final CacheControl cacheControl;
+
+    public JwksController(SigningKeyRing signingKeyRing,
+                          @Value("${app.security.jwt.jwks-cache-seconds:300}") long jwksCacheSeconds) {
+        this.signingKeyRing = signingKeyRing;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(jwksCacheSeconds)).cachePublic();
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(signingKeyRing.publicJwks());
+    }
+}
@@ -0,0 +1,25 @@
+package com.deepviewsystems.user_service.controllers;
+
+import com.deepviewsystems.user_service.records.ApiResponse;
+import com.deepviewsystems.user_service.records.UserProfileResponse;
+import com.deepviewsystems.user_service.security.AuthenticatedUser;
+import com.deepviewsystems.user_service.services.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse<UserProfileResponse>> me(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return ResponseEntity.ok(ApiResponse.success("Perfil obtenido exitosamente", userService.getProfile(principal.id())));
+    }
+}
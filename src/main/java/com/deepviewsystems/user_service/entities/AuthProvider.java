@@ -1,18 +1,24 @@
 package com.deepviewsystems.user_service.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.auth-providers")
 @Table(name = "auth_providers")
 @Getter
 @Setter
@@ -21,7 +27,8 @@ import lombok.Setter;
 @AllArgsConstructor
 public class AuthProvider extends AuditableEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auth_providers_seq")
+    @SequenceGenerator(name = "auth_providers_seq", sequenceName = "auth_providers_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 50)
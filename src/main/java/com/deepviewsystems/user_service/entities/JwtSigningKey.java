@@ -0,0 +1,37 @@
+package com.deepviewsystems.user_service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Clave de firma JWT compartida entre réplicas. La pública va en X.509 y la privada en PKCS#8
+ * cifrada (ambas en Base64); la clave más reciente es la que firma.
+ */
+@Entity
+@Table(name = "jwt_signing_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class JwtSigningKey {
+
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    @Column(name = "public_key", nullable = false, length = 4096)
+    private String publicKey;
+
+    @Column(name = "private_key", nullable = false, length = 4096)
+    private String privateKey;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -1,5 +1,6 @@
 package com.deepviewsystems.user_service.entities;
 
+import com.deepviewsystems.user_service.utils.TokenUtils;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,7 +11,8 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "password_reset_tokens")
+@Table(name = "password_reset_tokens",
+        indexes = @Index(name = "idx_password_reset_tokens_expiry_date", columnList = "expiry_date"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,11 +21,13 @@ import java.time.LocalDateTime;
 public class PasswordResetToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_tokens_seq")
+    @SequenceGenerator(name = "password_reset_tokens_seq", sequenceName = "password_reset_tokens_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // SHA-256 del token enviado por email; el valor en claro nunca se persiste
+    @Column(name = "token_hash", nullable = false, unique = true, length = TokenUtils.DIGEST_LENGTH)
+    private byte[] tokenHash;
 
     @OneToOne(targetEntity = User.class, fetch = FetchType.EAGER)
     @JoinColumn(name = "user_id", nullable = false)
@@ -1,5 +1,6 @@
 package com.deepviewsystems.user_service.entities;
 
+import com.deepviewsystems.user_service.utils.TokenUtils;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,7 +11,8 @@ import lombok.Setter;
 import java.time.Instant;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens",
+        indexes = @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,15 +21,17 @@ import java.time.Instant;
 public class RefreshToken extends AuditableEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
     private long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // SHA-256 del token entregado al cliente; el valor en claro nunca se persiste
+    @Column(name = "token_hash", nullable = false, unique = true, length = TokenUtils.DIGEST_LENGTH)
+    private byte[] tokenHash;
 
     @Column(nullable = false)
     private Instant expiryDate;
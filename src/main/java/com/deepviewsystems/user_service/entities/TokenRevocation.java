@@ -0,0 +1,44 @@
+package com.deepviewsystems.user_service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Evento de revocación: los access tokens del usuario emitidos hasta {@code revokedAt} dejan de valer.
+ *
+ * Cada réplica lo lee periódicamente para mantener su lista en memoria; la fila deja de
+ * importar en {@code expiresAt}, cuando el último token afectado ya habría expirado solo.
+ */
+@Entity
+@Table(name = "token_revocations",
+        indexes = {
+                @Index(name = "idx_token_revocations_revoked_at", columnList = "revoked_at"),
+                @Index(name = "idx_token_revocations_expires_at", columnList = "expires_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocations_seq")
+    @SequenceGenerator(name = "token_revocations_seq", sequenceName = "token_revocations_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -7,8 +7,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -25,7 +27,10 @@ import java.util.Set;
 
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Altas recientes leídas por RegisteredEmailFilter en cada réplica
+        @Index(name = "idx_users_created_date", columnList = "created_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,7 +38,8 @@ import java.util.Set;
 @AllArgsConstructor
 public class User extends AuditableEntity implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -45,7 +51,9 @@ public class User extends AuditableEntity implements UserDetails {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<UserAuthentication> authentications;
 
-    @ManyToMany(fetch = FetchType.EAGER) 
+    // LAZY: el camino de autenticación resuelve los roles con RoleRegistry a partir de sus ids
+    @ManyToMany(fetch = FetchType.LAZY)
+    @Builder.Default
     private Set<Role> roles = new HashSet<>();
 
     @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT TRUE")
@@ -0,0 +1,11 @@
+package com.deepviewsystems.user_service.exceptions;
+
+/**
+ * Se intenta registrar un email que ya pertenece a otro usuario.
+ */
+public class EmailAlreadyExistsException extends RuntimeException {
+
+    public EmailAlreadyExistsException(String message) {
+        super(message);
+    }
+}
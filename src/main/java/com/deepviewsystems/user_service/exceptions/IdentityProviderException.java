@@ -0,0 +1,11 @@
+package com.deepviewsystems.user_service.exceptions;
+
+/**
+ * El proveedor de identidad externo no respondió o respondió con un error propio (5xx).
+ */
+public class IdentityProviderException extends RuntimeException {
+
+    public IdentityProviderException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
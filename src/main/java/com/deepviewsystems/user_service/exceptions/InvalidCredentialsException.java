@@ -0,0 +1,11 @@
+package com.deepviewsystems.user_service.exceptions;
+
+/**
+ * Credenciales inválidas o cuenta deshabilitada.
+ */
+public class InvalidCredentialsException extends RuntimeException {
+
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
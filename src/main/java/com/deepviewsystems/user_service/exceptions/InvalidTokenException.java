@@ -0,0 +1,11 @@
+package com.deepviewsystems.user_service.exceptions;
+
+/**
+ * Token inexistente, expirado o revocado.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.deepviewsystems.user_service.exceptions;
+
+/**
+ * El recurso solicitado no existe.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
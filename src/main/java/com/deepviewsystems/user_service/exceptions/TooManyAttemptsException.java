@@ -0,0 +1,20 @@
+package com.deepviewsystems.user_service.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Se superó el límite de intentos de login para el email o la IP; indica cuándo reintentar.
+ */
+public class TooManyAttemptsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyAttemptsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,74 @@
+package com.deepviewsystems.user_service.mappers;
+
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.records.AuthResponse;
+import com.deepviewsystems.user_service.records.UserProfileResponse;
+import com.deepviewsystems.user_service.records.UserProfileRow;
+import com.deepviewsystems.user_service.records.UserSecuritySnapshot;
+import com.deepviewsystems.user_service.security.AuthoritySet;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Conversiones tipadas de usuario a records de respuesta.
+ *
+ * Se escriben a mano en lugar de pasar por {@code ModelMapper}: sin reflexión ni introspección,
+ * cada conversión es una llamada directa al constructor del record. Ver {@code MappingBenchmark}.
+ */
+@Component
+public class UserMapper {
+
+    public UserSecuritySnapshot toSecuritySnapshot(User user, AuthoritySet authorities) {
+        return new UserSecuritySnapshot(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.isEnabled(),
+                user.isAccountNonLocked(),
+                authorities);
+    }
+
+    public AuthResponse toAuthResponse(UserSecuritySnapshot user, String accessToken, String refreshToken, boolean isNewUser) {
+        return new AuthResponse(user.id(), user.email(), accessToken, refreshToken, user.roles(), isNewUser);
+    }
+
+    /**
+     * Perfil desde la entidad; recorre {@code authentications}, así que debe llamarse dentro de una transacción.
+     */
+    public UserProfileResponse toProfile(User user, AuthoritySet authorities) {
+        List<String> providers = user.getAuthentications() == null ? List.of() : user.getAuthentications().stream()
+                .map(authentication -> authentication.getProvider().getName())
+                .toList();
+        return new UserProfileResponse(
+                user.getId(),
+                user.getEmail(),
+                authorities.names(),
+                Set.copyOf(providers),
+                user.isEnabled(),
+                user.isAccountNonExpired(),
+                user.isAccountNonLocked(),
+                user.isCredentialsNonExpired(),
+                user.getCreatedDate(),
+                user.getLastModifiedDate());
+    }
+
+    /**
+     * Perfil desde la proyección plana de {@code UserRepository.findProfileRows}.
+     */
+    public UserProfileResponse toProfile(UserProfileRow row, AuthoritySet authorities, Set<String> providers) {
+        return new UserProfileResponse(
+                row.userId(),
+                row.email(),
+                authorities.names(),
+                Set.copyOf(providers),
+                row.enabled(),
+                // User no sobrescribe estos flags de UserDetails: siempre true
+                true,
+                row.accountNonLocked(),
+                true,
+                row.createdDate(),
+                row.lastModifiedDate());
+    }
+}
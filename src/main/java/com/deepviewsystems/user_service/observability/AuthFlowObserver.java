@@ -0,0 +1,126 @@
+package com.deepviewsystems.user_service.observability;
+
+import com.deepviewsystems.user_service.auditlog.AuthEventLog;
+import com.deepviewsystems.user_service.exceptions.EmailAlreadyExistsException;
+import com.deepviewsystems.user_service.exceptions.IdentityProviderException;
+import com.deepviewsystems.user_service.exceptions.InvalidCredentialsException;
+import com.deepviewsystems.user_service.exceptions.InvalidTokenException;
+import com.deepviewsystems.user_service.exceptions.ServiceOverloadedException;
+import com.deepviewsystems.user_service.exceptions.TooManyAttemptsException;
+import com.deepviewsystems.user_service.records.AuthEvent;
+import com.deepviewsystems.user_service.records.AuthResponse;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Mide cada flujo de autenticación de punta a punta (incluido el commit de la transacción).
+ *
+ * Cada llamada es una {@link Observation} {@value #NAME}: con Micrometer genera el timer
+ * {@code auth.flow{flow,provider,outcome}} y con tracing activo un span que agrupa los de
+ * base de datos, hashing y llamadas al proveedor de esa petición. Además deja un
+ * {@link AuthEvent} en el {@link AuthEventLog} local con el resultado, el usuario y la IP.
+ */
+@Component
+public class AuthFlowObserver {
+
+    public static final String NAME = "auth.flow";
+
+    public static final String FLOW_LOGIN = "login";
+    public static final String FLOW_REGISTER = "register";
+    public static final String FLOW_REFRESH = "refresh";
+    public static final String FLOW_LOGOUT = "logout";
+    public static final String FLOW_RESET_REQUEST = "password_reset_request";
+    public static final String FLOW_RESET_CONFIRM = "password_reset_confirm";
+
+    private final ObservationRegistry observationRegistry;
+    private final AuthEventLog authEventLog;
+
+    public AuthFlowObserver(ObservationRegistry observationRegistry, AuthEventLog authEventLog) {
+        this.observationRegistry = observationRegistry;
+        this.authEventLog = authEventLog;
+    }
+
+    public <T> T observe(String flow, String provider, Supplier<T> action) {
+        return observe(flow, provider, null, action);
+    }
+
+    public void observe(String flow, String provider, Runnable action) {
+        observe(flow, provider, null, action);
+    }
+
+    /**
+     * @param subject identificador declarado por el cliente (email); queda en el log de auditoría
+     *                aunque el intento falle
+     */
+    public <T> T observe(String flow, String provider, String subject, Supplier<T> action) {
+        Observation observation = Observation.createNotStarted(NAME, observationRegistry)
+                .contextualName("auth " + flow)
+                .lowCardinalityKeyValue("flow", flow)
+                .lowCardinalityKeyValue("provider", provider.toLowerCase(Locale.ROOT))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = action.get();
+            observation.lowCardinalityKeyValue("outcome", "success");
+            if (result instanceof AuthResponse response) {
+                record(flow, provider, "success", response.userId(), response.email());
+            } else {
+                record(flow, provider, "success", null, subject);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            String outcome = outcome(e);
+            observation.lowCardinalityKeyValue("outcome", outcome);
+            observation.error(e);
+            record(flow, provider, outcome, null, subject);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    public void observe(String flow, String provider, String subject, Runnable action) {
+        observe(flow, provider, subject, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void record(String flow, String provider, String outcome, Long userId, String subject) {
+        String clientIp = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getRemoteAddr()
+                : null;
+        authEventLog.append(new AuthEvent(Instant.now(), flow, provider, outcome, userId, subject, clientIp));
+    }
+
+    /**
+     * Resultado de baja cardinalidad para distinguir errores de cliente de saturación o fallos externos.
+     */
+    static String outcome(RuntimeException e) {
+        if (e instanceof InvalidCredentialsException) {
+            return "invalid_credentials";
+        }
+        if (e instanceof InvalidTokenException) {
+            return "invalid_token";
+        }
+        if (e instanceof EmailAlreadyExistsException) {
+            return "conflict";
+        }
+        if (e instanceof TooManyAttemptsException) {
+            return "throttled";
+        }
+        if (e instanceof ServiceOverloadedException) {
+            return "overloaded";
+        }
+        if (e instanceof IdentityProviderException) {
+            return "provider_error";
+        }
+        return "error";
+    }
+}
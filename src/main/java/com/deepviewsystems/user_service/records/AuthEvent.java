@@ -0,0 +1,17 @@
+package com.deepviewsystems.user_service.records;
+
+import java.time.Instant;
+
+/**
+ * Intento de autenticación registrado en el log de auditoría local.
+ * {@code userId} es {@code null} cuando el intento falló antes de identificar al usuario.
+ */
+public record AuthEvent(
+    Instant timestamp,
+    String flow,
+    String provider,
+    String outcome,
+    Long userId,
+    String subject,
+    String clientIp
+) {}
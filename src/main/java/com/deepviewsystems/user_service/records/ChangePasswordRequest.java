@@ -1,5 +1,7 @@
 package com.deepviewsystems.user_service.records;
 
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import com.deepviewsystems.user_service.validators.MaxUtf8Bytes;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -9,5 +11,6 @@ public record ChangePasswordRequest(
     
     @NotBlank(message = "La nueva contraseña es requerida")
     @Size(min = 8, message = "La contraseña debe tener al menos 8 caracteres")
+    @MaxUtf8Bytes(value = SecurityConstants.PASSWORD_MAX_BYTES, message = "La contraseña no puede superar los 72 bytes")
     String newPassword
 ) {} 
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.deepviewsystems.user_service.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Respuesta del endpoint userinfo (OpenID Connect) de LinkedIn.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LinkedInUserInfo(
+    String sub,
+    String email,
+    @JsonProperty("email_verified") Boolean emailVerified,
+    String name,
+    String picture
+) {}
@@ -0,0 +1,8 @@
+package com.deepviewsystems.user_service.records;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+    @NotBlank(message = "El refresh token es requerido")
+    String refreshToken
+) {}
@@ -0,0 +1,9 @@
+package com.deepviewsystems.user_service.records;
+
+/**
+ * Identidad verificada devuelta por un proveedor externo (Google, LinkedIn...).
+ */
+public record SocialIdentity(
+    String providerUserId,
+    String email
+) {}
@@ -0,0 +1,13 @@
+package com.deepviewsystems.user_service.records;
+
+import java.time.Instant;
+
+public record UserImportProgress(
+    String importId,
+    String format,
+    long processed,
+    long imported,
+    long skipped,
+    long failed,
+    Instant startedAt
+) {}
@@ -0,0 +1,27 @@
+package com.deepviewsystems.user_service.records;
+
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import com.deepviewsystems.user_service.validators.MaxUtf8Bytes;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+
+/**
+ * Fila de una importación masiva de usuarios (una línea NDJSON o CSV).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UserImportRecord(
+    @NotBlank(message = "El email es requerido")
+    @Email(message = "Formato de email inválido")
+    String email,
+
+    @NotBlank(message = "La contraseña es requerida")
+    @Size(min = 8, message = "La contraseña debe tener al menos 8 caracteres")
+    @MaxUtf8Bytes(value = SecurityConstants.PASSWORD_MAX_BYTES, message = "La contraseña no puede superar los 72 bytes")
+    String password,
+
+    Set<String> roles
+) {}
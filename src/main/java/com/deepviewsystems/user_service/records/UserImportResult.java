@@ -0,0 +1,13 @@
+package com.deepviewsystems.user_service.records;
+
+import java.util.List;
+
+public record UserImportResult(
+    String importId,
+    long processed,
+    long imported,
+    long skipped,
+    long failed,
+    List<String> errors,
+    long durationMs
+) {}
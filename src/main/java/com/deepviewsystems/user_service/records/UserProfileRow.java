@@ -0,0 +1,17 @@
+package com.deepviewsystems.user_service.records;
+
+import java.time.Instant;
+
+/**
+ * Fila plana de la consulta de perfiles: una por combinación usuario × rol × proveedor.
+ */
+public record UserProfileRow(
+    Long userId,
+    String email,
+    boolean enabled,
+    boolean accountNonLocked,
+    Instant createdDate,
+    Instant lastModifiedDate,
+    Long roleId,
+    String providerName
+) {}
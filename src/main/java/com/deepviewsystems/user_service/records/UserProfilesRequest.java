@@ -0,0 +1,12 @@
+package com.deepviewsystems.user_service.records;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UserProfilesRequest(
+    @NotEmpty(message = "Debe indicar al menos un id")
+    @Size(max = 500, message = "Se admiten hasta 500 ids por petición")
+    List<Long> ids
+) {}
@@ -0,0 +1,26 @@
+package com.deepviewsystems.user_service.records;
+
+import com.deepviewsystems.user_service.security.AuthoritySet;
+
+import java.util.Set;
+
+/**
+ * Vista inmutable de los datos de un usuario que necesita el camino de autenticación.
+ * Los roles se guardan como {@link AuthoritySet} internado, compartido entre usuarios con los mismos roles.
+ */
+public record UserSecuritySnapshot(
+    Long id,
+    String email,
+    String passwordHash,
+    boolean enabled,
+    boolean accountNonLocked,
+    AuthoritySet authorities
+) {
+    public Set<String> roles() {
+        return authorities.names();
+    }
+
+    public boolean isActive() {
+        return enabled && accountNonLocked;
+    }
+}
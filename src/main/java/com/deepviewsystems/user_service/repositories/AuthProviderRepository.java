@@ -1,7 +1,10 @@
 package com.deepviewsystems.user_service.repositories;
 
 import com.deepviewsystems.user_service.entities.AuthProvider;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,6 +12,11 @@ import java.util.Optional;
 @Repository
 public interface AuthProviderRepository extends JpaRepository<AuthProvider, Long> {
     
+    // Se consulta en cada login social; Hibernate descarta el resultado al modificar auth_providers
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")
+    })
     Optional<AuthProvider> findByName(String name);
 
 }
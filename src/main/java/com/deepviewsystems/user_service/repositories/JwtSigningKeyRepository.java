@@ -0,0 +1,9 @@
+package com.deepviewsystems.user_service.repositories;
+
+import com.deepviewsystems.user_service.entities.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+}
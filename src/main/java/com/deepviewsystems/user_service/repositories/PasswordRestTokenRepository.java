@@ -2,6 +2,7 @@ package com.deepviewsystems.user_service.repositories;
 
 import com.deepviewsystems.user_service.entities.PasswordResetToken;
 import com.deepviewsystems.user_service.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,17 +10,23 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PasswordRestTokenRepository extends JpaRepository<PasswordResetToken, Long> {
 
-    @Query("SELECT prt FROM PasswordResetToken prt WHERE prt.token = :token AND prt.expiryDate > :currentTime")
-    Optional<PasswordResetToken> findByTokenAndNotExpired(@Param("token") String token, @Param("currentTime") LocalDateTime currentTime);
+    @Query("SELECT prt FROM PasswordResetToken prt WHERE prt.tokenHash = :tokenHash AND prt.expiryDate > :currentTime")
+    Optional<PasswordResetToken> findByTokenHashAndNotExpired(@Param("tokenHash") byte[] tokenHash, @Param("currentTime") LocalDateTime currentTime);
     
+    // Keyset por id: cada lote continúa donde terminó el anterior sin volver a recorrer filas ya borradas
+    @Query("SELECT prt.id FROM PasswordResetToken prt WHERE prt.expiryDate < :currentTime AND prt.id > :afterId ORDER BY prt.id")
+    List<Long> findExpiredTokenIds(@Param("currentTime") LocalDateTime currentTime, @Param("afterId") long afterId, Pageable pageable);
+
     @Modifying
-    @Query("DELETE FROM PasswordResetToken prt WHERE prt.expiryDate < :currentTime")
-    void deleteExpiredTokens(@Param("currentTime") LocalDateTime currentTime);
+    @Query("DELETE FROM PasswordResetToken prt WHERE prt.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
     
     @Modifying
     @Query("DELETE FROM PasswordResetToken prt WHERE prt.user = :user")
@@ -2,6 +2,7 @@ package com.deepviewsystems.user_service.repositories;
 
 import com.deepviewsystems.user_service.entities.RefreshToken;
 import com.deepviewsystems.user_service.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,21 +10,27 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
     
-    Optional<RefreshToken> findByTokenAndUser(String token, User user);
+    Optional<RefreshToken> findByTokenHashAndUser(byte[] tokenHash, User user);
     
 
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user = :user")
     void deleteByUser(@Param("user") User user);
     
+    // Keyset por id: cada lote continúa donde terminó el anterior sin volver a recorrer filas ya borradas
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.expiryDate < :currentTime AND rt.id > :afterId ORDER BY rt.id")
+    List<Long> findExpiredTokenIds(@Param("currentTime") Instant currentTime, @Param("afterId") long afterId, Pageable pageable);
+
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :currentTime")
-    void deleteExpiredTokens(@Param("currentTime") Instant currentTime);
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,25 @@
+package com.deepviewsystems.user_service.repositories;
+
+import com.deepviewsystems.user_service.entities.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // UPDATE condicional: solo una réplica puede ganar el lease si está libre o ya es suya
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.lockedUntil = :lockedUntil " +
+            "WHERE l.name = :name AND (l.lockedUntil < :now OR l.owner = :owner)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") Instant now, @Param("lockedUntil") Instant lockedUntil);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = NULL, l.lockedUntil = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
@@ -0,0 +1,28 @@
+package com.deepviewsystems.user_service.repositories;
+
+import com.deepviewsystems.user_service.entities.TokenRevocation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    // Por fecha y no por id: con secuencias preasignadas por réplica los ids no siguen el orden de commit
+    @Query("SELECT r FROM TokenRevocation r WHERE r.revokedAt > :since AND r.expiresAt > :now")
+    List<TokenRevocation> findActiveSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Query("SELECT r.id FROM TokenRevocation r WHERE r.expiresAt < :currentTime AND r.id > :afterId ORDER BY r.id")
+    List<Long> findExpiredIds(@Param("currentTime") Instant currentTime, @Param("afterId") long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -21,5 +21,9 @@ public interface UserAuthenticationRepository extends JpaRepository<UserAuthenti
     @Query("SELECT ua FROM UserAuthentication ua WHERE ua.provider.name = :providerName AND ua.providerUserId = :providerUserId")
     Optional<UserAuthentication> findByProviderNameAndProviderUserId(@Param("providerName") String providerName, @Param("providerUserId") String providerUserId);
     
+    // Solo el id del usuario: el resto sale de UserSecurityCache
+    @Query("SELECT ua.user.id FROM UserAuthentication ua WHERE ua.provider.name = :providerName AND ua.providerUserId = :providerUserId")
+    Optional<Long> findUserIdByProviderNameAndProviderUserId(@Param("providerName") String providerName, @Param("providerUserId") String providerUserId);
+
     boolean existsByUserAndProvider(User user, AuthProvider provider);
 }
@@ -1,12 +1,24 @@
 package com.deepviewsystems.user_service.repositories;
 
 import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.records.UserProfileRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -16,4 +28,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findActiveUserByEmail(@Param("email") String email);
     
     boolean existsByEmail(String email);
+
+    // Solo los ids: la traducción a authorities la hace RoleRegistry sin cargar entidades Role
+    @Query("SELECT r.id FROM User u JOIN u.roles r WHERE u.id = :userId")
+    List<Long> findRoleIds(@Param("userId") Long userId);
+
+    // Perfil completo en una sola consulta; los roles salen como ids y los resuelve RoleRegistry
+    @Query("SELECT new com.deepviewsystems.user_service.records.UserProfileRow("
+            + "u.id, u.email, u.enabled, u.accountNonLocked, u.createdDate, u.lastModifiedDate, r.id, p.name) "
+            + "FROM User u LEFT JOIN u.roles r LEFT JOIN u.authentications a LEFT JOIN a.provider p "
+            + "WHERE u.id IN :ids")
+    List<UserProfileRow> findProfileRows(@Param("ids") Collection<Long> ids);
+
+    // Paginación por clave para la exportación: cada página cuesta lo mismo, sin OFFSET
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Carga de RegisteredEmailFilter: solo la columna email, en streaming (requiere transacción)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+
+    @Query("SELECT u.email FROM User u WHERE u.createdDate >= :since")
+    List<String> findEmailsCreatedSince(@Param("since") Instant since);
+
+    // Compara con el hash anterior para no pisar un cambio de contraseña concurrente
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.accountNonLocked = false WHERE u.id = :id AND u.accountNonLocked = true")
+    int lockAccount(@Param("id") Long id);
 }
@@ -0,0 +1,66 @@
+package com.deepviewsystems.user_service.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * {@link Authentication} ya verificada a partir de un access token.
+ *
+ * A diferencia de {@code UsernamePasswordAuthenticationToken}, no copia las authorities: expone
+ * directamente la lista internada del {@link AuthoritySet}.
+ */
+public final class AccessTokenAuthentication implements Authentication {
+
+    private final AuthenticatedUser principal;
+    private final AuthoritySet authorities;
+
+    public AccessTokenAuthentication(AuthenticatedUser principal, AuthoritySet authorities) {
+        this.principal = principal;
+        this.authorities = authorities;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public AuthenticatedUser getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (isAuthenticated) {
+            return;
+        }
+        throw new IllegalArgumentException("Una autenticación por access token no puede desmarcarse");
+    }
+
+    @Override
+    public String getName() {
+        return principal.getName();
+    }
+
+    @Override
+    public String toString() {
+        return "AccessTokenAuthentication[userId=" + principal.id() + ", authorities=" + authorities + "]";
+    }
+}
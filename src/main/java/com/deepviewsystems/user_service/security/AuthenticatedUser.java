@@ -0,0 +1,17 @@
+package com.deepviewsystems.user_service.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal construido a partir de los claims del access token, sin consultar la base de datos.
+ */
+public record AuthenticatedUser(
+    Long id,
+    String email
+) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,96 @@
+package com.deepviewsystems.user_service.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Conjunto inmutable de authorities de un usuario.
+ *
+ * Las instancias se internan (una por combinación distinta de roles, ver
+ * {@link com.deepviewsystems.user_service.caches.RoleRegistry} y {@link JwtService}), así que
+ * {@link #getAuthorities()} devuelve siempre la misma lista sin crear objetos por petición.
+ *
+ * En los tokens viaja la forma corta de {@link #claim()}: los nombres sin el prefijo {@code ROLE_}
+ * separados por espacio ({@code "USER ADMIN"}). Un authority sin ese prefijo se escribe con
+ * {@code '='} delante para poder reconstruirlo tal cual.
+ */
+public final class AuthoritySet {
+
+    public static final AuthoritySet EMPTY = new AuthoritySet(List.of());
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final String RAW_MARKER = "=";
+    private static final String CLAIM_SEPARATOR = " ";
+
+    private final Set<String> names;
+    private final List<GrantedAuthority> authorities;
+    private final String claim;
+
+    private AuthoritySet(Collection<String> names) {
+        this.names = Collections.unmodifiableSet(new LinkedHashSet<>(names));
+        List<GrantedAuthority> granted = new ArrayList<>(this.names.size());
+        List<String> claimParts = new ArrayList<>(this.names.size());
+        for (String name : this.names) {
+            granted.add(new SimpleGrantedAuthority(name));
+            claimParts.add(name.startsWith(ROLE_PREFIX) ? name.substring(ROLE_PREFIX.length()) : RAW_MARKER + name);
+        }
+        this.authorities = List.copyOf(granted);
+        this.claim = String.join(CLAIM_SEPARATOR, claimParts);
+    }
+
+    public static AuthoritySet of(Collection<String> names) {
+        return names.isEmpty() ? EMPTY : new AuthoritySet(names);
+    }
+
+    public static AuthoritySet fromClaim(String claim) {
+        if (claim == null || claim.isBlank()) {
+            return EMPTY;
+        }
+        List<String> names = new ArrayList<>();
+        for (String part : claim.split(CLAIM_SEPARATOR)) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            names.add(part.startsWith(RAW_MARKER) ? part.substring(RAW_MARKER.length()) : ROLE_PREFIX + part);
+        }
+        return of(names);
+    }
+
+    public Set<String> names() {
+        return names;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public String claim() {
+        return claim;
+    }
+
+    public boolean contains(String authority) {
+        return names.contains(authority);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof AuthoritySet that && names.equals(that.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return names.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return names.toString();
+    }
+}
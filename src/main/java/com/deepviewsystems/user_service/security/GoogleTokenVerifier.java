@@ -0,0 +1,114 @@
+package com.deepviewsystems.user_service.security;
+
+import com.deepviewsystems.user_service.clients.IdentityProviderClients;
+import com.deepviewsystems.user_service.exceptions.InvalidCredentialsException;
+import com.deepviewsystems.user_service.records.GoogleUserInfo;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Verifica ID tokens de Google localmente contra el JWKS de Google.
+ *
+ * Sustituye la llamada remota a tokeninfo: la firma se comprueba con las claves en caché y
+ * {@code iss}, {@code aud}, {@code exp} y {@code email_verified} se validan en proceso.
+ */
+@Slf4j
+@Component
+public class GoogleTokenVerifier {
+
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+    private static final long CLOCK_SKEW_SECONDS = 30;
+
+    private final Set<String> clientIds;
+    private final RemoteJwksKeyCache keyCache;
+    private final JwtParser parser;
+
+    public GoogleTokenVerifier(IdentityProviderClients identityProviderClients,
+                               @Value("${app.oauth.google.client-ids:}") String clientIds,
+                               @Value("${app.oauth.google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}") String jwksUri,
+                               @Value("${app.oauth.google.jwks-min-refresh-seconds:30}") long minRefreshSeconds) {
+        this.clientIds = Arrays.stream(clientIds.split(","))
+                .map(String::trim)
+                .filter(clientId -> !clientId.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.keyCache = new RemoteJwksKeyCache(identityProviderClients.forProvider(SecurityConstants.PROVIDER_GOOGLE),
+                URI.create(jwksUri), Duration.ofHours(1), Duration.ofSeconds(minRefreshSeconds));
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        Key key = keyCache.findKey(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Clave de Google desconocida: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .clockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return !clientIds.isEmpty();
+    }
+
+    public GoogleUserInfo verify(String idToken) {
+        if (!isEnabled()) {
+            throw new InvalidCredentialsException("Login con Google no habilitado");
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(idToken).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("ID token de Google rechazado: {}", e.getMessage());
+            throw new InvalidCredentialsException("Token de Google inválido");
+        }
+
+        if (!ISSUERS.contains(claims.getIssuer())) {
+            throw new InvalidCredentialsException("Token de Google inválido");
+        }
+        Set<String> audience = claims.getAudience() == null ? Set.of() : claims.getAudience();
+        if (Collections.disjoint(audience, clientIds)) {
+            throw new InvalidCredentialsException("Token de Google emitido para otro cliente");
+        }
+        Object emailVerified = claims.get("email_verified");
+        if (!Boolean.TRUE.equals(emailVerified) && !"true".equals(emailVerified)) {
+            throw new InvalidCredentialsException("El email de Google no está verificado");
+        }
+
+        return new GoogleUserInfo(
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("name", String.class),
+                claims.get("picture", String.class),
+                claims.get("given_name", String.class),
+                claims.get("family_name", String.class));
+    }
+
+    /**
+     * Refresco en segundo plano: el único punto que llama a Google.
+     */
+    @Scheduled(fixedDelayString = "${app.oauth.google.jwks-refresh-check-ms:60000}")
+    public void refreshKeys() {
+        if (isEnabled()) {
+            keyCache.refreshIfStale();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.deepviewsystems.user_service.security;
+
+import com.deepviewsystems.user_service.entities.JwtSigningKey;
+import com.deepviewsystems.user_service.repositories.JwtSigningKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Claves de firma en la tabla {@code jwt_signing_keys}. La clave privada se cifra con AES-GCM
+ * usando una clave derivada de {@code app.security.jwt.key-encryption-secret}: una copia de la
+ * base de datos no basta para firmar tokens.
+ */
+@Component
+public class JpaSigningKeyStore implements SigningKeyStore {
+
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    private final JwtSigningKeyRepository jwtSigningKeyRepository;
+    private final SecretKeySpec encryptionKey;
+    private final SecureRandom random = new SecureRandom();
+
+    public JpaSigningKeyStore(JwtSigningKeyRepository jwtSigningKeyRepository,
+                              @Value("${app.security.jwt.key-encryption-secret}") String encryptionSecret) {
+        if (encryptionSecret == null || encryptionSecret.isBlank()) {
+            throw new IllegalStateException("app.security.jwt.key-encryption-secret no está configurado");
+        }
+        this.jwtSigningKeyRepository = jwtSigningKeyRepository;
+        this.encryptionKey = deriveKey(encryptionSecret);
+    }
+
+    @Override
+    public List<SigningKeyRing.SigningKey> findAll() {
+        return jwtSigningKeyRepository.findAll().stream()
+                .map(this::toSigningKey)
+                .toList();
+    }
+
+    @Override
+    public void save(SigningKeyRing.SigningKey key) {
+        jwtSigningKeyRepository.save(JwtSigningKey.builder()
+                .kid(key.kid())
+                .publicKey(Base64.getEncoder().encodeToString(key.publicKey().getEncoded()))
+                .privateKey(Base64.getEncoder().encodeToString(encrypt(key.privateKey().getEncoded())))
+                .createdAt(key.createdAt())
+                .build());
+    }
+
+    @Override
+    public void deleteAll(Collection<String> kids) {
+        jwtSigningKeyRepository.deleteAllByIdInBatch(kids);
+    }
+
+    private SigningKeyRing.SigningKey toSigningKey(JwtSigningKey row) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(row.getPublicKey())));
+            RSAPrivateKey privateKey = (RSAPrivateKey) keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(decrypt(Base64.getDecoder().decode(row.getPrivateKey()))));
+            return new SigningKeyRing.SigningKey(row.getKid(), publicKey, privateKey, row.getCreatedAt(), null);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo leer la clave de firma kid=" + row.getKid(), e);
+        }
+    }
+
+    private byte[] encrypt(byte[] plain) {
+        try {
+            byte[] iv = new byte[GCM_IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain);
+            return ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo cifrar la clave de firma", e);
+        }
+    }
+
+    private byte[] decrypt(byte[] stored) throws GeneralSecurityException {
+        // Un secreto distinto al que cifró la clave falla aquí (etiqueta GCM inválida)
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, stored, 0, GCM_IV_BYTES));
+        return cipher.doFinal(stored, GCM_IV_BYTES, stored.length - GCM_IV_BYTES);
+    }
+
+    private static SecretKeySpec deriveKey(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(digest, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 no está disponible en esta JVM", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.deepviewsystems.user_service.security;
+
+import com.deepviewsystems.user_service.caches.AccessTokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final AccessTokenRevocationList accessTokenRevocationList;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            Claims claims = jwtService.parseAccessToken(header.substring(BEARER_PREFIX.length()));
+            Long userId = Long.valueOf(claims.getSubject());
+            if (accessTokenRevocationList.isRevoked(userId, claims.getIssuedAt())) {
+                log.debug("Access token revocado: userId={}", userId);
+                SecurityContextHolder.clearContext();
+                filterChain.doFilter(request, response);
+                return;
+            }
+            AuthenticatedUser principal = new AuthenticatedUser(userId, claims.get(JwtService.CLAIM_EMAIL, String.class));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new AccessTokenAuthentication(principal, jwtService.extractAuthorities(claims)));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Access token rechazado: {}", e.getMessage());
+            SecurityContextHolder.clearContext();
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,135 @@
+package com.deepviewsystems.user_service.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Emite y valida access tokens firmados con RS256.
+ *
+ * El parser se construye una sola vez y resuelve la clave por {@code kid} contra el
+ * {@link SigningKeyRing}, así que validar un token no toca la base de datos ni la red.
+ */
+@Service
+public class JwtService {
+
+    public static final String CLAIM_EMAIL = "email";
+    // Forma corta de AuthoritySet ("USER ADMIN")
+    public static final String CLAIM_ROLES = "rl";
+    // Lista completa de authorities; solo se lee, para tokens emitidos antes del claim corto
+    private static final String LEGACY_CLAIM_ROLES = "roles";
+    // Combinaciones de roles distintas que se internan; más allá se crean sin cachear
+    private static final int MAX_INTERNED_CLAIMS = 256;
+
+    private static final long CLOCK_SKEW_SECONDS = 30;
+
+    private final SigningKeyRing keyRing;
+    private final String issuer;
+    private final long accessTokenTtlSeconds;
+    private final JwtParser parser;
+    private final ConcurrentMap<String, AuthoritySet> internedClaims = new ConcurrentHashMap<>();
+
+    public JwtService(
+            SigningKeyRing keyRing,
+            @Value("${app.security.jwt.issuer:${app.url:http://localhost:8085}}") String issuer,
+            @Value("${app.security.jwt.access-token-ttl-seconds:900}") long accessTokenTtlSeconds) {
+        this.keyRing = keyRing;
+        this.issuer = issuer;
+        this.accessTokenTtlSeconds = accessTokenTtlSeconds;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        Key key = keyRing.findVerificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Clave de firma desconocida: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .requireIssuer(issuer)
+                .clockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .build();
+    }
+
+    public String generateAccessToken(Long userId, String email, Collection<String> roles) {
+        return generateAccessToken(userId, email, AuthoritySet.of(roles));
+    }
+
+    public String generateAccessToken(Long userId, String email, AuthoritySet authorities) {
+        SigningKeyRing.SigningKey signingKey = keyRing.currentKey();
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .subject(String.valueOf(userId))
+                .claim(CLAIM_EMAIL, email)
+                .claim(CLAIM_ROLES, authorities.claim())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(accessTokenTtlSeconds)))
+                .signWith(signingKey.privateKey(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    /**
+     * Verifica firma, emisor y expiración. Lanza {@link JwtException} si el token no es válido.
+     */
+    public Claims parseAccessToken(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    public long getAccessTokenTtlSeconds() {
+        return accessTokenTtlSeconds;
+    }
+
+    /**
+     * Authorities del token, internadas por valor del claim: los tokens con los mismos roles
+     * comparten la misma instancia.
+     */
+    public AuthoritySet extractAuthorities(Claims claims) {
+        Object compact = claims.get(CLAIM_ROLES);
+        if (compact instanceof String claim) {
+            AuthoritySet interned = internedClaims.get(claim);
+            if (interned != null) {
+                return interned;
+            }
+            AuthoritySet parsed = AuthoritySet.fromClaim(claim);
+            if (internedClaims.size() < MAX_INTERNED_CLAIMS) {
+                internedClaims.putIfAbsent(claim, parsed);
+            }
+            return parsed;
+        }
+        return AuthoritySet.of(extractLegacyRoles(claims));
+    }
+
+    public static List<String> extractRoles(Claims claims) {
+        Object compact = claims.get(CLAIM_ROLES);
+        if (compact instanceof String claim) {
+            return List.copyOf(AuthoritySet.fromClaim(claim).names());
+        }
+        return extractLegacyRoles(claims);
+    }
+
+    private static List<String> extractLegacyRoles(Claims claims) {
+        Object raw = claims.get(LEGACY_CLAIM_ROLES);
+        if (raw instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+}
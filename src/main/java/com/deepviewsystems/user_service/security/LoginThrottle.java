@@ -0,0 +1,187 @@
+package com.deepviewsystems.user_service.security;
+
+import com.deepviewsystems.user_service.caches.AccessTokenRevocationList;
+import com.deepviewsystems.user_service.caches.UserSecurityCache;
+import com.deepviewsystems.user_service.exceptions.TooManyAttemptsException;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import com.deepviewsystems.user_service.utils.EmailUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita los intentos de login por email y por IP antes de tocar la base de datos o el hash.
+ *
+ * Cada clave tiene un token bucket implementado como GCRA: el estado es un único {@code long}
+ * (el instante teórico de la próxima llegada) que se actualiza con CAS, sin locks. Las claves
+ * viven en una caché acotada que descarta las inactivas: una clave que lleva un periodo completo
+ * sin intentos tiene el bucket lleno, así que olvidarla no cambia el resultado.
+ *
+ * Opcionalmente, tras {@code lock-after-rejections} intentos rechazados seguidos contra el mismo
+ * email la cuenta se bloquea ({@code accountNonLocked=false}). Viene desactivado: un atacante
+ * podría usarlo para bloquear cuentas ajenas, y el desbloqueo es manual.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final Rate emailRate;
+    private final Rate ipRate;
+    private final int lockAfterRejections;
+    private final Cache<String, Bucket> byEmail;
+    private final Cache<String, Bucket> byIp;
+    private final UserSecurityCache userSecurityCache;
+    private final UserRepository userRepository;
+    private final AccessTokenRevocationList accessTokenRevocationList;
+
+    private final Counter rejectedByEmail;
+    private final Counter rejectedByIp;
+    private final Counter accountsLocked;
+
+    public LoginThrottle(UserSecurityCache userSecurityCache,
+                         UserRepository userRepository,
+                         AccessTokenRevocationList accessTokenRevocationList,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${app.security.login-throttle.email.capacity:5}") int emailCapacity,
+                         @Value("${app.security.login-throttle.email.refill-seconds:60}") long emailRefillSeconds,
+                         @Value("${app.security.login-throttle.ip.capacity:50}") int ipCapacity,
+                         @Value("${app.security.login-throttle.ip.refill-seconds:60}") long ipRefillSeconds,
+                         @Value("${app.security.login-throttle.max-keys:100000}") long maxKeys,
+                         @Value("${app.security.login-throttle.lock-after-rejections:0}") int lockAfterRejections) {
+        this.userSecurityCache = userSecurityCache;
+        this.userRepository = userRepository;
+        this.accessTokenRevocationList = accessTokenRevocationList;
+        this.enabled = enabled;
+        this.emailRate = new Rate(emailCapacity, Duration.ofSeconds(emailRefillSeconds));
+        this.ipRate = new Rate(ipCapacity, Duration.ofSeconds(ipRefillSeconds));
+        this.lockAfterRejections = lockAfterRejections;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(emailRefillSeconds))
+                .build();
+        this.byIp = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(ipRefillSeconds))
+                .build();
+
+        this.rejectedByEmail = Counter.builder("auth.login.throttled")
+                .description("Intentos de login rechazados antes de verificar la contraseña")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.rejectedByIp = Counter.builder("auth.login.throttled")
+                .description("Intentos de login rechazados antes de verificar la contraseña")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.accountsLocked = Counter.builder("auth.login.accounts.locked")
+                .description("Cuentas bloqueadas por intentos repetidos")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", byEmail, Cache::estimatedSize)
+                .tag("key", "email")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", byIp, Cache::estimatedSize)
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consume un intento para la IP y el email; lanza {@link TooManyAttemptsException} si alguno se agotó.
+     * La IP se comprueba primero para que un origen ya bloqueado no gaste intentos de emails ajenos.
+     */
+    public void acquire(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+
+        if (clientIp != null) {
+            long waitNanos = byIp.get(clientIp, key -> new Bucket(now)).tryAcquire(now, ipRate);
+            if (waitNanos > 0) {
+                rejectedByIp.increment();
+                throw tooManyAttempts(waitNanos);
+            }
+        }
+
+        String normalized = EmailUtils.normalize(email);
+        Bucket bucket = byEmail.get(normalized, key -> new Bucket(now));
+        long waitNanos = bucket.tryAcquire(now, emailRate);
+        if (waitNanos > 0) {
+            rejectedByEmail.increment();
+            if (lockAfterRejections > 0 && bucket.rejections.get() == lockAfterRejections) {
+                lockAccount(normalized);
+            }
+            throw tooManyAttempts(waitNanos);
+        }
+    }
+
+    private void lockAccount(String email) {
+        userSecurityCache.findByEmail(email).ifPresent(user -> {
+            if (userRepository.lockAccount(user.id()) == 1) {
+                // UPDATE por JPQL: no dispara los eventos de Hibernate
+                userSecurityCache.invalidate(user.id());
+                accessTokenRevocationList.revokeAll(user.id());
+                accountsLocked.increment();
+                log.warn("Cuenta bloqueada por intentos de login repetidos: userId={}", user.id());
+            }
+        });
+    }
+
+    private static TooManyAttemptsException tooManyAttempts(long waitNanos) {
+        Duration retryAfter = Duration.ofSeconds(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1));
+        return new TooManyAttemptsException("Demasiados intentos, intente nuevamente más tarde", retryAfter);
+    }
+
+    /**
+     * {@code capacity} intentos en ráfaga, recuperando uno cada {@code refillPeriod / capacity}.
+     */
+    record Rate(long emissionIntervalNanos, long burstToleranceNanos) {
+
+        Rate(int capacity, Duration refillPeriod) {
+            this(refillPeriod.toNanos() / capacity, refillPeriod.toNanos() / capacity * (capacity - 1));
+        }
+    }
+
+    /**
+     * Estado GCRA: {@code tat} es el instante a partir del cual el bucket vuelve a estar lleno
+     * (menos la tolerancia de ráfaga). {@code rejections} cuenta rechazos desde el último intento admitido.
+     */
+    static final class Bucket {
+
+        private final AtomicLong tat;
+        final AtomicInteger rejections = new AtomicInteger();
+
+        Bucket(long now) {
+            this.tat = new AtomicLong(now);
+        }
+
+        /**
+         * @return 0 si el intento se admite; si no, nanos hasta que haya un token disponible
+         */
+        long tryAcquire(long now, Rate rate) {
+            while (true) {
+                long current = tat.get();
+                long base = Math.max(current, now);
+                long waitNanos = base - now - rate.burstToleranceNanos();
+                if (waitNanos > 0) {
+                    rejections.incrementAndGet();
+                    return waitNanos;
+                }
+                if (tat.compareAndSet(current, base + rate.emissionIntervalNanos())) {
+                    rejections.set(0);
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.deepviewsystems.user_service.security;
+
+import com.deepviewsystems.user_service.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta el hash y la verificación de contraseñas en un pool dedicado y acotado.
+ *
+ * El hash es deliberadamente caro: aislarlo evita que una ráfaga de logins (p. ej. credential
+ * stuffing) ocupe todos los hilos del servlet. Si la cola está llena la petición se rechaza de
+ * inmediato con {@link ServiceOverloadedException} en lugar de esperar.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final ObservationRegistry observationRegistry;
+
+    private final Timer encodeTimer;
+    private final Timer verifyTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  ObservationRegistry observationRegistry,
+                                  @Value("${app.security.password.hashing-threads:0}") int threads,
+                                  @Value("${app.security.password.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.security.password.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.observationRegistry = observationRegistry;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hash.duration")
+                .description("Tiempo de CPU de cada hash o verificación")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("password.hash.duration")
+                .description("Tiempo de CPU de cada hash o verificación")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("password.hash.queue.wait")
+                .description("Tiempo en cola antes de empezar a hashear")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("Operaciones rechazadas por pool saturado o timeout")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.size", executor, e -> e.getQueue().size())
+                .description("Operaciones esperando en cola")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hilos hasheando en este momento")
+                .register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return observe("encode", () -> execute(() -> passwordEncoder.encode(rawPassword), encodeTimer));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        return observe("verify", () -> execute(() -> passwordEncoder.matches(rawPassword, encodedPassword), verifyTimer));
+    }
+
+    /**
+     * Indica si el hash se generó con un coste menor al configurado y conviene regenerarlo.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashea en segundo plano sin bloquear al llamador; el futuro falla si el pool está saturado.
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)), executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(new ServiceOverloadedException("Pool de hashing saturado"));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Span del lado del llamador (cola + hash): es lo que aparece dentro de la traza de la petición.
+     */
+    private <T> T observe(String operation, Supplier<T> call) {
+        return Observation.createNotStarted("password.hash.call", observationRegistry)
+                .lowCardinalityKeyValue("operation", operation)
+                .observe(call);
+    }
+
+    private <T> T execute(Callable<T> task, Timer timer) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("Servicio saturado, intente nuevamente");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("Servicio saturado, intente nuevamente");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Operación interrumpida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error al procesar la contraseña", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.deepviewsystems.user_service.security;
+
+import com.deepviewsystems.user_service.clients.IdentityProviderClient;
+import com.deepviewsystems.user_service.exceptions.IdentityProviderException;
+import com.deepviewsystems.user_service.exceptions.ServiceOverloadedException;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+
+import java.net.URI;
+import java.security.PublicKey;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caché de las claves públicas de un proveedor externo (JWKS), indexadas por {@code kid}.
+ *
+ * La vigencia la marca el {@code Cache-Control: max-age} de la respuesta y el refresco se hace
+ * en segundo plano antes de que caduque, así que verificar un token no toca la red. Un {@code kid}
+ * desconocido fuerza un refresco, limitado a uno cada {@code minRefreshInterval} para que tokens
+ * inventados no se traduzcan en llamadas al proveedor.
+ */
+@Slf4j
+public class RemoteJwksKeyCache {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final IdentityProviderClient client;
+    private final URI jwksUri;
+    private final Duration defaultTtl;
+    private final Duration minRefreshInterval;
+    // Lock explícito y no synchronized: la descarga bloquea y con hilos virtuales fijaría el carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile Instant expiresAt = Instant.EPOCH;
+    private volatile Instant lastFetch = Instant.EPOCH;
+
+    public RemoteJwksKeyCache(IdentityProviderClient client, URI jwksUri,
+                              Duration defaultTtl, Duration minRefreshInterval) {
+        this.client = client;
+        this.jwksUri = jwksUri;
+        this.defaultTtl = defaultTtl;
+        this.minRefreshInterval = minRefreshInterval;
+    }
+
+    public PublicKey findKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        PublicKey key = keys.get(kid);
+        if (key == null && Instant.now().isAfter(lastFetch.plus(minRefreshInterval))) {
+            // Posible rotación de claves en el proveedor
+            refresh(false);
+            key = keys.get(kid);
+        }
+        return key;
+    }
+
+    /**
+     * Refresca si falta menos de un 10% de la vigencia (o ya expiró).
+     */
+    public void refreshIfStale() {
+        Duration margin = Duration.between(lastFetch, expiresAt).dividedBy(10);
+        if (Instant.now().isAfter(expiresAt.minus(margin))) {
+            refresh(true);
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private void refresh(boolean scheduled) {
+        refreshLock.lock();
+        try {
+            // Otro hilo pudo refrescar mientras esperábamos el lock
+            if (!scheduled && !Instant.now().isAfter(lastFetch.plus(minRefreshInterval))) {
+                return;
+            }
+            fetch();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void fetch() {
+        Instant now = Instant.now();
+        lastFetch = now;
+        try {
+            ResponseEntity<String> response = client.exchange(RequestEntity.get(jwksUri).build(), String.class);
+            Map<String, PublicKey> parsed = parse(response.getBody());
+            keys = Map.copyOf(parsed);
+            expiresAt = now.plus(ttl(response.getHeaders().getCacheControl()));
+            log.debug("JWKS de {} actualizado: {} claves, vigente hasta {}", client.getProvider(), parsed.size(), expiresAt);
+        } catch (RestClientException | IdentityProviderException | ServiceOverloadedException
+                 | ParseException | JOSEException e) {
+            // Se conservan las claves anteriores; se reintenta en el próximo ciclo
+            log.warn("No se pudo actualizar el JWKS de {}: {}", client.getProvider(), e.getMessage());
+        }
+    }
+
+    private static Map<String, PublicKey> parse(String body) throws ParseException, JOSEException {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (JWK jwk : JWKSet.parse(body).getKeys()) {
+            if (jwk.getKeyID() == null) {
+                continue;
+            }
+            if (jwk instanceof RSAKey rsaKey) {
+                parsed.put(jwk.getKeyID(), rsaKey.toRSAPublicKey());
+            } else if (jwk instanceof ECKey ecKey) {
+                parsed.put(jwk.getKeyID(), ecKey.toECPublicKey());
+            }
+        }
+        return parsed;
+    }
+
+    private Duration ttl(String cacheControl) {
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+            }
+        }
+        return defaultTtl;
+    }
+}
@@ -0,0 +1,20 @@
+package com.deepviewsystems.user_service.security;
+
+/**
+ * Nombres de roles y proveedores de autenticación y límites de credenciales usados por el servicio.
+ */
+public final class SecurityConstants {
+
+    public static final String ROLE_USER = "ROLE_USER";
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    public static final String PROVIDER_LOCAL = "LOCAL";
+    public static final String PROVIDER_GOOGLE = "GOOGLE";
+    public static final String PROVIDER_LINKEDIN = "LINKEDIN";
+
+    // BCrypt ignora (o rechaza, según la versión) lo que pase de 72 bytes
+    public static final int PASSWORD_MAX_BYTES = 72;
+
+    private SecurityConstants() {
+    }
+}
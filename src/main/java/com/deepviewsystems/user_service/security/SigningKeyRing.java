@@ -0,0 +1,216 @@
+package com.deepviewsystems.user_service.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Anillo de claves RSA para firmar los access tokens, compartido entre réplicas a través de un
+ * {@link SigningKeyStore}.
+ *
+ * La clave más reciente del almacén firma; las anteriores se conservan (solo para verificar)
+ * hasta que expira el último token que pudieron firmar. Cada réplica relee el almacén en cada
+ * comprobación de rotación y, antes de rechazar un {@code kid} desconocido, por si otra réplica
+ * acaba de rotar. Si dos réplicas rotan a la vez quedan dos claves nuevas: firma la más reciente y
+ * la otra sigue publicada como retirada. El JWKS publicado se recalcula únicamente cuando cambia
+ * el anillo, de modo que servir {@code /.well-known/jwks.json} no serializa claves por petición.
+ */
+@Slf4j
+@Component
+public class SigningKeyRing {
+
+    private static final int KEY_SIZE = 2048;
+    // Un kid desconocido relee el almacén como mucho una vez por intervalo
+    private static final Duration UNKNOWN_KID_RELOAD_INTERVAL = Duration.ofSeconds(1);
+
+    private final SigningKeyStore store;
+    private final Duration rotationInterval;
+    private final Duration retention;
+    private final ConcurrentMap<String, SigningKey> keys = new ConcurrentHashMap<>();
+
+    private volatile SigningKey currentKey;
+    private volatile JWKSet jwkSet;
+    private volatile Map<String, Object> publicJwks;
+    private volatile Instant lastUnknownKidReload = Instant.EPOCH;
+
+    public SigningKeyRing(
+            SigningKeyStore store,
+            @Value("${app.security.jwt.key-rotation-minutes:1440}") long rotationMinutes,
+            @Value("${app.security.jwt.access-token-ttl-seconds:900}") long accessTokenTtlSeconds,
+            @Value("${app.security.jwt.jwks-cache-seconds:300}") long jwksCacheSeconds) {
+        this.store = store;
+        this.rotationInterval = Duration.ofMinutes(rotationMinutes);
+        // Una clave retirada debe seguir publicada mientras existan tokens firmados con ella
+        // y mientras los consumidores puedan tener en caché un JWKS que aún no la incluya.
+        this.retention = Duration.ofSeconds(accessTokenTtlSeconds + jwksCacheSeconds);
+        reload();
+        if (currentKey == null || isDue(Instant.now())) {
+            rotate();
+        }
+    }
+
+    public SigningKey currentKey() {
+        return currentKey;
+    }
+
+    /**
+     * Devuelve la clave pública para el {@code kid} indicado, o {@code null} si no la conocemos.
+     */
+    public RSAPublicKey findVerificationKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        SigningKey key = keys.get(kid);
+        if (key == null && Instant.now().isAfter(lastUnknownKidReload.plus(UNKNOWN_KID_RELOAD_INTERVAL))) {
+            // Puede ser una clave que otra réplica acaba de crear
+            lastUnknownKidReload = Instant.now();
+            reload();
+            key = keys.get(kid);
+        }
+        return key == null ? null : key.publicKey();
+    }
+
+    /**
+     * JWKS con solo los parámetros públicos, listo para serializar.
+     */
+    public Map<String, Object> publicJwks() {
+        return publicJwks;
+    }
+
+    /**
+     * JWKS completo (incluye claves privadas) para los componentes de Spring Authorization Server.
+     */
+    public JWKSet jwkSet() {
+        return jwkSet;
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.jwt.key-rotation-check-ms:60000}")
+    public void rotateIfDue() {
+        reload();
+        Instant now = Instant.now();
+        if (isDue(now)) {
+            rotate();
+        }
+        purgeRetiredKeys(now);
+    }
+
+    public synchronized void rotate() {
+        SigningKey next = generateKey();
+        store.save(next);
+        keys.put(next.kid(), next);
+        reindex();
+        log.info("Nueva clave de firma JWT activa: kid={}", next.kid());
+    }
+
+    private boolean isDue(Instant now) {
+        return now.isAfter(currentKey.createdAt().plus(rotationInterval));
+    }
+
+    /**
+     * Incorpora las claves del almacén que aún no conocemos. Las que faltan en el almacén no se
+     * quitan aquí: su retirada la decide {@link #purgeRetiredKeys}.
+     */
+    private synchronized void reload() {
+        boolean added = false;
+        for (SigningKey stored : store.findAll()) {
+            added |= keys.putIfAbsent(stored.kid(), stored) == null;
+        }
+        if (added) {
+            reindex();
+        }
+    }
+
+    private synchronized void purgeRetiredKeys(Instant now) {
+        List<String> expired = keys.values().stream()
+                .filter(key -> key.retiredAt() != null && now.isAfter(key.retiredAt().plus(retention)))
+                .map(SigningKey::kid)
+                .toList();
+        if (!expired.isEmpty()) {
+            store.deleteAll(expired);
+            expired.forEach(keys::remove);
+            refreshJwks();
+        }
+    }
+
+    /**
+     * La clave más reciente es la actual; cada una de las demás se retiró cuando se creó la siguiente.
+     */
+    private void reindex() {
+        List<SigningKey> ordered = keys.values().stream()
+                .sorted(Comparator.comparing(SigningKey::createdAt).thenComparing(SigningKey::kid))
+                .toList();
+        for (int i = 0; i < ordered.size() - 1; i++) {
+            SigningKey key = ordered.get(i);
+            keys.put(key.kid(), key.retire(ordered.get(i + 1).createdAt()));
+        }
+        SigningKey newest = ordered.get(ordered.size() - 1);
+        keys.put(newest.kid(), newest.retire(null));
+        currentKey = keys.get(newest.kid());
+        refreshJwks();
+    }
+
+    private void refreshJwks() {
+        List<JWK> jwks = new ArrayList<>();
+        keys.values().stream()
+                .sorted(Comparator.comparing(SigningKey::createdAt).reversed())
+                .forEach(key -> jwks.add(new RSAKey.Builder(key.publicKey())
+                        .privateKey(key.privateKey())
+                        .keyID(key.kid())
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.RS256)
+                        .build()));
+        JWKSet set = new JWKSet(jwks);
+        this.jwkSet = set;
+        // toJSONObject() sin argumentos omite los parámetros privados
+        this.publicJwks = Map.copyOf(set.toJSONObject());
+    }
+
+    private static SigningKey generateKey() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(KEY_SIZE);
+            KeyPair keyPair = generator.generateKeyPair();
+            return new SigningKey(
+                    UUID.randomUUID().toString(),
+                    (RSAPublicKey) keyPair.getPublic(),
+                    (RSAPrivateKey) keyPair.getPrivate(),
+                    Instant.now(),
+                    null);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA no está disponible en esta JVM", e);
+        }
+    }
+
+    public record SigningKey(
+            String kid,
+            RSAPublicKey publicKey,
+            RSAPrivateKey privateKey,
+            Instant createdAt,
+            Instant retiredAt
+    ) {
+        SigningKey retire(Instant when) {
+            return new SigningKey(kid, publicKey, privateKey, createdAt, when);
+        }
+    }
+}
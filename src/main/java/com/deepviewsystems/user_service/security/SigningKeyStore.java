@@ -0,0 +1,42 @@
+package com.deepviewsystems.user_service.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Almacén compartido de las claves de firma. Todas las réplicas leen y rotan sobre el mismo
+ * almacén, de modo que cualquiera puede verificar lo que firmó otra.
+ */
+public interface SigningKeyStore {
+
+    List<SigningKeyRing.SigningKey> findAll();
+
+    void save(SigningKeyRing.SigningKey key);
+
+    void deleteAll(Collection<String> kids);
+
+    /**
+     * Almacén en memoria para tests y benchmarks; compartirlo entre anillos simula varias réplicas.
+     */
+    static SigningKeyStore inMemory() {
+        ConcurrentMap<String, SigningKeyRing.SigningKey> keys = new ConcurrentHashMap<>();
+        return new SigningKeyStore() {
+            @Override
+            public List<SigningKeyRing.SigningKey> findAll() {
+                return List.copyOf(keys.values());
+            }
+
+            @Override
+            public void save(SigningKeyRing.SigningKey key) {
+                keys.put(key.kid(), key);
+            }
+
+            @Override
+            public void deleteAll(Collection<String> kids) {
+                kids.forEach(keys::remove);
+            }
+        };
+    }
+}
@@ -0,0 +1,267 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.caches.RegisteredEmailFilter;
+import com.deepviewsystems.user_service.caches.RoleRegistry;
+import com.deepviewsystems.user_service.caches.UserSecurityCache;
+import com.deepviewsystems.user_service.entities.AuthProvider;
+import com.deepviewsystems.user_service.entities.RefreshToken;
+import com.deepviewsystems.user_service.entities.Role;
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.entities.UserAuthentication;
+import com.deepviewsystems.user_service.exceptions.EmailAlreadyExistsException;
+import com.deepviewsystems.user_service.exceptions.InvalidCredentialsException;
+import com.deepviewsystems.user_service.mappers.UserMapper;
+import com.deepviewsystems.user_service.records.AuthResponse;
+import com.deepviewsystems.user_service.records.LoginRequest;
+import com.deepviewsystems.user_service.records.RefreshTokenRequest;
+import com.deepviewsystems.user_service.records.RegisterUserRequest;
+import com.deepviewsystems.user_service.records.SocialIdentity;
+import com.deepviewsystems.user_service.records.UserSecuritySnapshot;
+import com.deepviewsystems.user_service.repositories.AuthProviderRepository;
+import com.deepviewsystems.user_service.repositories.RoleRepository;
+import com.deepviewsystems.user_service.repositories.UserAuthenticationRepository;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import com.deepviewsystems.user_service.security.JwtService;
+import com.deepviewsystems.user_service.security.PasswordHashingService;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import com.deepviewsystems.user_service.utils.EmailUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthService {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
+    private final AuthProviderRepository authProviderRepository;
+    private final UserAuthenticationRepository userAuthenticationRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final UserSecurityCache userSecurityCache;
+    private final JwtService jwtService;
+    private final UserMapper userMapper;
+    private final PasswordHashingService passwordHashingService;
+    private final List<SocialLoginStrategy> socialLoginStrategies;
+    private final LoginFanOut loginFanOut;
+    private final TransactionTemplate transactionTemplate;
+    private final RegisteredEmailFilter registeredEmailFilter;
+
+    /**
+     * Escribe los hashes regenerados. Un solo hilo y cola acotada: la regeneración es oportunista y
+     * si se descarta se reintenta en el siguiente login.
+     */
+    private final ThreadPoolExecutor rehashWriter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(256),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-rehash-writer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * El hash de la contraseña se calcula fuera de la transacción: solo la escritura retiene una
+     * conexión, no los cientos de milisegundos de bcrypt.
+     */
+    public AuthResponse register(RegisterUserRequest request) {
+        String email = EmailUtils.normalize(request.email());
+        if (registeredEmailFilter.exists(email, userRepository::existsByEmail)) {
+            throw new EmailAlreadyExistsException("El email ya está registrado");
+        }
+        String passwordHash = passwordHashingService.encode(request.password());
+
+        return transactionTemplate.execute(status -> {
+            User user = User.builder()
+                    .email(email)
+                    .password(passwordHash)
+                    .roles(new HashSet<>(Set.of(defaultRole())))
+                    .authentications(new ArrayList<>())
+                    .build();
+            user.getAuthentications().add(UserAuthentication.builder()
+                    .user(user)
+                    .provider(findProvider(SecurityConstants.PROVIDER_LOCAL))
+                    .providerUserId(email)
+                    .build());
+
+            User saved;
+            try {
+                // flush inmediato: un alta reciente en otra réplica puede no estar aún en el filtro
+                saved = userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException e) {
+                throw new EmailAlreadyExistsException("El email ya está registrado");
+            }
+            log.info("Usuario registrado: id={}", saved.getId());
+            return issueTokens(userMapper.toSecuritySnapshot(saved, roleRegistry.fromRoles(saved.getRoles())), true);
+        });
+    }
+
+    /**
+     * La verificación se hace sobre el snapshot cacheado y fuera de la transacción; solo la emisión
+     * de tokens escribe.
+     */
+    public AuthResponse login(LoginRequest request) {
+        UserSecuritySnapshot user = userSecurityCache.findByEmail(request.email())
+                .filter(UserSecuritySnapshot::isActive)
+                .orElseThrow(() -> new InvalidCredentialsException("Credenciales inválidas"));
+        if (!passwordHashingService.matches(request.password(), user.passwordHash())) {
+            throw new InvalidCredentialsException("Credenciales inválidas");
+        }
+        upgradePasswordHashIfNeeded(user, request.password());
+        return transactionTemplate.execute(status -> issueTokens(user, false));
+    }
+
+    /**
+     * Rota el refresh token: el recibido se invalida y se emite un par nuevo.
+     */
+    @Transactional
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshToken current = refreshTokenService.verify(request.refreshToken());
+        UserSecuritySnapshot user = userSecurityCache.findById(current.getUser().getId())
+                .filter(UserSecuritySnapshot::isActive)
+                .orElseThrow(() -> new InvalidCredentialsException("La cuenta está deshabilitada o bloqueada"));
+        refreshTokenService.revoke(current);
+        return issueTokens(user, false);
+    }
+
+    /**
+     * Login con un proveedor externo: reutiliza la cuenta vinculada, vincula una cuenta existente
+     * con el mismo email verificado o crea una nueva sin contraseña.
+     *
+     * La verificación del token (posible llamada al proveedor) queda fuera de la transacción para no
+     * retener una conexión mientras tanto. Con {@link LoginFanOut} activo, la búsqueda de la cuenta
+     * vinculada arranca en paralelo usando el identificador sin verificar del token; su resultado
+     * solo se usa si la verificación confirma el mismo identificador.
+     */
+    public AuthResponse socialLogin(String providerName, String externalToken) {
+        SocialLoginStrategy strategy = socialLoginStrategies.stream()
+                .filter(candidate -> candidate.getProviderName().equals(providerName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Proveedor no soportado: " + providerName));
+
+        Optional<String> unverifiedUserId = loginFanOut.isEnabled()
+                ? strategy.peekProviderUserId(externalToken)
+                : Optional.empty();
+        CompletableFuture<Optional<UserSecuritySnapshot>> speculativeLookup = unverifiedUserId
+                .map(providerUserId -> loginFanOut.supply(() -> findLinkedUser(providerName, providerUserId)))
+                .orElse(null);
+
+        SocialIdentity identity;
+        try {
+            identity = strategy.verify(externalToken);
+        } catch (RuntimeException e) {
+            if (speculativeLookup != null) {
+                speculativeLookup.cancel(false);
+            }
+            throw e;
+        }
+
+        Optional<UserSecuritySnapshot> linked = speculativeLookup != null
+                && unverifiedUserId.get().equals(identity.providerUserId())
+                ? loginFanOut.join(speculativeLookup)
+                : findLinkedUser(providerName, identity.providerUserId());
+        if (linked.isPresent()) {
+            UserSecuritySnapshot user = linked.filter(UserSecuritySnapshot::isActive)
+                    .orElseThrow(() -> new InvalidCredentialsException("La cuenta está deshabilitada o bloqueada"));
+            return transactionTemplate.execute(status -> issueTokens(user, false));
+        }
+        return transactionTemplate.execute(status -> linkSocialAccount(providerName, identity));
+    }
+
+    private Optional<UserSecuritySnapshot> findLinkedUser(String providerName, String providerUserId) {
+        return userAuthenticationRepository.findUserIdByProviderNameAndProviderUserId(providerName, providerUserId)
+                .flatMap(userSecurityCache::findById);
+    }
+
+    private AuthResponse linkSocialAccount(String providerName, SocialIdentity identity) {
+        String email = EmailUtils.normalize(identity.email());
+        Optional<User> existing = userRepository.findByEmail(email);
+        User user = existing.orElseGet(() -> User.builder()
+                .email(email)
+                .roles(new HashSet<>(Set.of(defaultRole())))
+                .authentications(new ArrayList<>())
+                .build());
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            throw new InvalidCredentialsException("La cuenta está deshabilitada o bloqueada");
+        }
+        if (user.getAuthentications() == null) {
+            user.setAuthentications(new ArrayList<>());
+        }
+        user.getAuthentications().add(UserAuthentication.builder()
+                .user(user)
+                .provider(findProvider(providerName))
+                .providerUserId(identity.providerUserId())
+                .build());
+
+        User saved = userRepository.save(user);
+        log.info("Cuenta {} vinculada a {}: id={}", providerName, existing.isPresent() ? "usuario existente" : "usuario nuevo", saved.getId());
+        return issueTokens(userMapper.toSecuritySnapshot(saved, roleRegistry.fromRoles(saved.getRoles())), existing.isEmpty());
+    }
+
+    @Transactional
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.refreshToken());
+    }
+
+    private Role defaultRole() {
+        // Referencia sin SELECT: el id sale del registro de roles
+        return roleRegistry.findIdByAuthority(SecurityConstants.ROLE_USER)
+                .map(roleRepository::getReferenceById)
+                .orElseThrow(() -> new IllegalStateException("Rol no configurado: " + SecurityConstants.ROLE_USER));
+    }
+
+    private AuthProvider findProvider(String name) {
+        return authProviderRepository.findByName(name)
+                .orElseThrow(() -> new IllegalStateException("Proveedor no configurado: " + name));
+    }
+
+    /**
+     * Si el hash se generó con un coste menor al configurado, lo regenera en segundo plano.
+     */
+    private void upgradePasswordHashIfNeeded(UserSecuritySnapshot user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.passwordHash())) {
+            return;
+        }
+        // El UPDATE va al hilo de escritura: los hilos de hashing no esperan a la base de datos
+        passwordHashingService.encodeAsync(rawPassword)
+                .thenAcceptAsync(newHash -> {
+                    if (userRepository.updatePasswordHash(user.id(), user.passwordHash(), newHash) == 1) {
+                        // UPDATE por JPQL: no dispara los eventos de Hibernate
+                        userSecurityCache.invalidate(user.id());
+                        log.debug("Hash de contraseña actualizado: userId={}", user.id());
+                    }
+                }, rehashWriter)
+                .exceptionally(e -> {
+                    log.debug("No se pudo regenerar el hash de userId={}: {}", user.id(), e.getMessage());
+                    return null;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rehashWriter.shutdown();
+    }
+
+    private AuthResponse issueTokens(UserSecuritySnapshot user, boolean isNewUser) {
+        String accessToken = jwtService.generateAccessToken(user.id(), user.email(), user.authorities());
+        // Referencia sin SELECT: el refresh token solo necesita la FK del usuario
+        String refreshToken = refreshTokenService.create(userRepository.getReferenceById(user.id()));
+        return userMapper.toAuthResponse(user, accessToken, refreshToken, isNewUser);
+    }
+}
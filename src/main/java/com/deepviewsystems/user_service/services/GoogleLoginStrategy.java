@@ -0,0 +1,42 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.records.GoogleUserInfo;
+import com.deepviewsystems.user_service.records.SocialIdentity;
+import com.deepviewsystems.user_service.security.GoogleTokenVerifier;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.text.ParseException;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class GoogleLoginStrategy implements SocialLoginStrategy {
+
+    private final GoogleTokenVerifier googleTokenVerifier;
+
+    @Override
+    public String getProviderName() {
+        return SecurityConstants.PROVIDER_GOOGLE;
+    }
+
+    @Override
+    public SocialIdentity verify(String token) {
+        GoogleUserInfo userInfo = googleTokenVerifier.verify(token);
+        return new SocialIdentity(userInfo.sub(), userInfo.email());
+    }
+
+    /**
+     * El ID token es un JWT: el {@code sub} se lee sin verificar la firma.
+     */
+    @Override
+    public Optional<String> peekProviderUserId(String token) {
+        try {
+            return Optional.ofNullable(SignedJWT.parse(token).getJWTClaimsSet().getSubject());
+        } catch (ParseException e) {
+            return Optional.empty();
+        }
+    }
+}
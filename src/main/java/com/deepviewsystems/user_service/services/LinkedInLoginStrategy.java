@@ -0,0 +1,52 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.clients.IdentityProviderClient;
+import com.deepviewsystems.user_service.clients.IdentityProviderClients;
+import com.deepviewsystems.user_service.exceptions.InvalidCredentialsException;
+import com.deepviewsystems.user_service.records.LinkedInUserInfo;
+import com.deepviewsystems.user_service.records.SocialIdentity;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.net.URI;
+
+/**
+ * Login con LinkedIn: valida el access token consultando el endpoint userinfo de LinkedIn.
+ * La respuesta se cachea unos segundos por token en el cliente del proveedor.
+ */
+@Component
+public class LinkedInLoginStrategy implements SocialLoginStrategy {
+
+    private final IdentityProviderClient client;
+    private final URI userInfoUri;
+
+    public LinkedInLoginStrategy(IdentityProviderClients identityProviderClients,
+                                 @Value("${app.oauth.linkedin.userinfo-uri:https://api.linkedin.com/v2/userinfo}") String userInfoUri) {
+        this.client = identityProviderClients.forProvider(SecurityConstants.PROVIDER_LINKEDIN);
+        this.userInfoUri = URI.create(userInfoUri);
+    }
+
+    @Override
+    public String getProviderName() {
+        return SecurityConstants.PROVIDER_LINKEDIN;
+    }
+
+    @Override
+    public SocialIdentity verify(String token) {
+        LinkedInUserInfo userInfo;
+        try {
+            userInfo = client.getUserInfo(userInfoUri, token, LinkedInUserInfo.class);
+        } catch (HttpClientErrorException e) {
+            throw new InvalidCredentialsException("Token de LinkedIn inválido");
+        }
+        if (userInfo == null || userInfo.sub() == null) {
+            throw new InvalidCredentialsException("Token de LinkedIn inválido");
+        }
+        if (!Boolean.TRUE.equals(userInfo.emailVerified()) || userInfo.email() == null) {
+            throw new InvalidCredentialsException("El email de LinkedIn no está verificado");
+        }
+        return new SocialIdentity(userInfo.sub(), userInfo.email());
+    }
+}
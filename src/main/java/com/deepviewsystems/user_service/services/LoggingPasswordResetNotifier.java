@@ -0,0 +1,19 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.records.EmailPasswordResetRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Notificador por defecto mientras no haya un servicio de email: solo registra el envío.
+ */
+@Slf4j
+@Component
+public class LoggingPasswordResetNotifier implements PasswordResetNotifier {
+
+    @Override
+    public void send(EmailPasswordResetRequest request) {
+        log.info("Reseteo de contraseña solicitado para {}", request.email());
+        log.debug("Enlace de reseteo: {} (expira en {} h)", request.resetLink(), request.expirationHours());
+    }
+}
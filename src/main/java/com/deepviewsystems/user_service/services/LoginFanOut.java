@@ -0,0 +1,68 @@
+package com.deepviewsystems.user_service.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta en paralelo pasos independientes de un login cuando el servicio corre con hilos virtuales.
+ *
+ * Solo se activa con {@code spring.threads.virtual.enabled=true} sobre Java 21 o superior; en el
+ * modo clásico {@link #isEnabled()} es {@code false} y los pasos se ejecutan en el hilo de la
+ * petición, como siempre. Cada tarea paralela puede ocupar una conexión del pool propia, por eso
+ * el número de tareas simultáneas está acotado.
+ */
+@Slf4j
+@Component
+public class LoginFanOut {
+
+    private final SimpleAsyncTaskExecutor executor;
+
+    public LoginFanOut(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                       @Value("${app.login.fan-out.concurrency-limit:200}") int concurrencyLimit) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            this.executor = new SimpleAsyncTaskExecutor("login-fan-out-");
+            this.executor.setVirtualThreads(true);
+            this.executor.setConcurrencyLimit(concurrencyLimit);
+            // Mantiene la traza y el MDC de la petición en el hilo virtual
+            this.executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+            log.info("Fan-out de login con hilos virtuales (máx. {} tareas simultáneas)", concurrencyLimit);
+        } else {
+            if (virtualThreads) {
+                log.warn("spring.threads.virtual.enabled requiere Java 21; el login se ejecuta secuencialmente");
+            }
+            this.executor = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Espera el resultado y relanza la excepción original del paso.
+     */
+    public <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Paso de login fallido", e.getCause());
+        }
+    }
+}
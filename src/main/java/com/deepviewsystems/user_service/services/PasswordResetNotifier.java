@@ -0,0 +1,11 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.records.EmailPasswordResetRequest;
+
+/**
+ * Entrega al usuario el enlace de reseteo de contraseña (email, cola de notificaciones, etc.).
+ */
+public interface PasswordResetNotifier {
+
+    void send(EmailPasswordResetRequest request);
+}
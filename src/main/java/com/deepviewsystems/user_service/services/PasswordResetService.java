@@ -0,0 +1,108 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.caches.RegisteredEmailFilter;
+import com.deepviewsystems.user_service.entities.PasswordResetToken;
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.exceptions.InvalidTokenException;
+import com.deepviewsystems.user_service.records.ChangePasswordRequest;
+import com.deepviewsystems.user_service.records.EmailPasswordResetRequest;
+import com.deepviewsystems.user_service.records.PasswordResetRequest;
+import com.deepviewsystems.user_service.repositories.PasswordRestTokenRepository;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import com.deepviewsystems.user_service.security.PasswordHashingService;
+import com.deepviewsystems.user_service.utils.EmailUtils;
+import com.deepviewsystems.user_service.utils.TokenUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+@Service
+public class PasswordResetService {
+
+    public static final String TOKEN_PREFIX = "prt_";
+
+    private final UserRepository userRepository;
+    private final PasswordRestTokenRepository passwordRestTokenRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingService passwordHashingService;
+    private final PasswordResetNotifier passwordResetNotifier;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final String resetLinkBase;
+    private final int expirationHours;
+
+    public PasswordResetService(UserRepository userRepository,
+                                PasswordRestTokenRepository passwordRestTokenRepository,
+                                RefreshTokenService refreshTokenService,
+                                PasswordHashingService passwordHashingService,
+                                PasswordResetNotifier passwordResetNotifier,
+                                RegisteredEmailFilter registeredEmailFilter,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.password-reset.link-base:${app.url}/reset-password?token=}") String resetLinkBase,
+                                @Value("${app.password-reset.expiration-hours:1}") int expirationHours) {
+        this.userRepository = userRepository;
+        this.passwordRestTokenRepository = passwordRestTokenRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordHashingService = passwordHashingService;
+        this.passwordResetNotifier = passwordResetNotifier;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.transactionTemplate = transactionTemplate;
+        this.resetLinkBase = resetLinkBase;
+        this.expirationHours = expirationHours;
+    }
+
+    /**
+     * Genera un token de reseteo y lo notifica. No revela si el email existe.
+     */
+    @Transactional
+    public void requestReset(PasswordResetRequest request) {
+        registeredEmailFilter.find(EmailUtils.normalize(request.email()), userRepository::findByEmail)
+                .filter(User::isEnabled)
+                .ifPresent(this::issueToken);
+    }
+
+    /**
+     * Lectura corta para validar el token, hash fuera de cualquier transacción y escritura en una
+     * transacción aparte que vuelve a comprobar el token (puede haberse usado mientras tanto).
+     */
+    public void changePassword(ChangePasswordRequest request) {
+        if (!TokenUtils.isWellFormed(request.token(), TOKEN_PREFIX)) {
+            throw new InvalidTokenException("Token de reseteo inválido o expirado");
+        }
+        byte[] tokenHash = TokenUtils.hash(request.token());
+        findValidToken(tokenHash);
+
+        String passwordHash = passwordHashingService.encode(request.newPassword());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            PasswordResetToken resetToken = findValidToken(tokenHash);
+            User user = resetToken.getUser();
+            user.setPassword(passwordHash);
+            passwordRestTokenRepository.delete(resetToken);
+            // Un cambio de contraseña cierra todas las sesiones abiertas
+            refreshTokenService.revokeAll(user);
+        });
+    }
+
+    private PasswordResetToken findValidToken(byte[] tokenHash) {
+        return passwordRestTokenRepository.findByTokenHashAndNotExpired(tokenHash, LocalDateTime.now())
+                .orElseThrow(() -> new InvalidTokenException("Token de reseteo inválido o expirado"));
+    }
+
+    private void issueToken(User user) {
+        // Un solo token vigente por usuario (user_id es único en password_reset_tokens)
+        passwordRestTokenRepository.deleteByUser(user);
+
+        String token = TokenUtils.generate(TOKEN_PREFIX);
+        passwordRestTokenRepository.save(PasswordResetToken.builder()
+                .user(user)
+                .tokenHash(TokenUtils.hash(token))
+                .expiryDate(LocalDateTime.now().plusHours(expirationHours))
+                .build());
+
+        passwordResetNotifier.send(new EmailPasswordResetRequest(user.getEmail(), resetLinkBase + token, expirationHours));
+    }
+}
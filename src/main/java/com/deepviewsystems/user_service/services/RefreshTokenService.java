@@ -0,0 +1,86 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.caches.AccessTokenRevocationList;
+import com.deepviewsystems.user_service.entities.RefreshToken;
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.exceptions.InvalidTokenException;
+import com.deepviewsystems.user_service.repositories.RefreshTokenRepository;
+import com.deepviewsystems.user_service.utils.TokenUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Service
+public class RefreshTokenService {
+
+    public static final String TOKEN_PREFIX = "rt_";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AccessTokenRevocationList accessTokenRevocationList;
+    private final long refreshTokenTtlSeconds;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               AccessTokenRevocationList accessTokenRevocationList,
+                               @Value("${app.security.jwt.refresh-token-ttl-seconds:1209600}") long refreshTokenTtlSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.accessTokenRevocationList = accessTokenRevocationList;
+        this.refreshTokenTtlSeconds = refreshTokenTtlSeconds;
+    }
+
+    /**
+     * Crea un refresh token y devuelve su valor en claro; es la única vez que está disponible.
+     */
+    @Transactional
+    public String create(User user) {
+        String token = TokenUtils.generate(TOKEN_PREFIX);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(TokenUtils.hash(token))
+                .expiryDate(Instant.now().plusSeconds(refreshTokenTtlSeconds))
+                .build());
+        return token;
+    }
+
+    /**
+     * Devuelve el refresh token si existe y no ha expirado.
+     */
+    @Transactional(readOnly = true)
+    public RefreshToken verify(String token) {
+        RefreshToken refreshToken = find(token)
+                .orElseThrow(() -> new InvalidTokenException("Refresh token inválido"));
+        if (refreshToken.getExpiryDate().isBefore(Instant.now())) {
+            throw new InvalidTokenException("Refresh token expirado");
+        }
+        return refreshToken;
+    }
+
+    @Transactional
+    public void revoke(RefreshToken refreshToken) {
+        refreshTokenRepository.delete(refreshToken);
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        find(token).ifPresent(refreshTokenRepository::delete);
+    }
+
+    /**
+     * Cierra todas las sesiones: borra los refresh tokens y revoca los access tokens ya emitidos.
+     */
+    @Transactional
+    public void revokeAll(User user) {
+        refreshTokenRepository.deleteByUser(user);
+        accessTokenRevocationList.revokeAll(user.getId());
+    }
+
+    private Optional<RefreshToken> find(String token) {
+        // Un token sin el prefijo o la longitud esperados no puede existir: no se consulta la base
+        if (!TokenUtils.isWellFormed(token, TOKEN_PREFIX)) {
+            return Optional.empty();
+        }
+        return refreshTokenRepository.findByTokenHash(TokenUtils.hash(token));
+    }
+}
@@ -0,0 +1,65 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.entities.SchedulerLease;
+import com.deepviewsystems.user_service.repositories.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Leases en base de datos para coordinar tareas programadas entre réplicas.
+ */
+@Slf4j
+@Service
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID();
+
+    public SchedulerLeaseService(SchedulerLeaseRepository schedulerLeaseRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Intenta tomar (o extender, si ya es nuestro) el lease durante {@code duration}.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        ensureExists(name);
+        Instant now = Instant.now();
+        Integer updated = transactionTemplate.execute(status ->
+                schedulerLeaseRepository.tryAcquire(name, instanceId, now, now.plus(duration)));
+        return updated != null && updated == 1;
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                schedulerLeaseRepository.release(name, instanceId, Instant.now()));
+    }
+
+    private void ensureExists(String name) {
+        if (schedulerLeaseRepository.existsById(name)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> schedulerLeaseRepository.save(SchedulerLease.builder()
+                    .name(name)
+                    .lockedUntil(Instant.EPOCH)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Otra réplica lo creó al mismo tiempo
+            log.debug("Lease {} creado por otra réplica", name);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.records.SocialIdentity;
+
+import java.util.Optional;
+
+/**
+ * Estrategia de autenticación con un proveedor externo. Para agregar un proveedor basta con
+ * registrar un bean que implemente esta interfaz y dar de alta su nombre en auth_providers.
+ */
+public interface SocialLoginStrategy {
+
+    /**
+     * Nombre del proveedor tal como figura en auth_providers.
+     */
+    String getProviderName();
+
+    /**
+     * Verifica el token del proveedor y devuelve la identidad con un email verificado.
+     */
+    SocialIdentity verify(String token);
+
+    /**
+     * Identificador del usuario en el proveedor leído del token sin verificarlo, si el formato lo permite.
+     * Solo sirve para adelantar búsquedas; nunca para decidir quién es el usuario.
+     */
+    default Optional<String> peekProviderUserId(String token) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,176 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.repositories.PasswordRestTokenRepository;
+import com.deepviewsystems.user_service.repositories.RefreshTokenRepository;
+import com.deepviewsystems.user_service.repositories.TokenRevocationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Purga programada de refresh tokens, tokens de reset y revocaciones expirados.
+ *
+ * Borra en lotes acotados, cada uno en su propia transacción, recorriendo los ids en orden
+ * (keyset) y con una pausa entre lotes para limitar la carga sobre la base. Un lease en
+ * {@code scheduler_leases} garantiza que solo una réplica purga a la vez.
+ *
+ * Con las pausas una purga grande dura minutos, así que no corre en el hilo del planificador
+ * (uno solo, compartido con las lecturas periódicas de revocaciones y claves): el disparo
+ * programado solo la encola en su propio hilo.
+ */
+@Slf4j
+@Service
+public class TokenPurgeService {
+
+    private static final String LEASE_NAME = "token-purge";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PasswordRestTokenRepository passwordRestTokenRepository;
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final long pauseBetweenBatchesMs;
+    private final int maxBatchesPerRun;
+    private final Duration leaseDuration;
+
+    // Sin cola: si la purga anterior sigue en curso el disparo se descarta
+    private final ThreadPoolExecutor purgeExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "token-purge");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> log.debug("Purga de tokens anterior todavía en curso"));
+
+    public TokenPurgeService(RefreshTokenRepository refreshTokenRepository,
+                             PasswordRestTokenRepository passwordRestTokenRepository,
+                             TokenRevocationRepository tokenRevocationRepository,
+                             SchedulerLeaseService schedulerLeaseService,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.purge.batch-size:1000}") int batchSize,
+                             @Value("${app.purge.pause-between-batches-ms:200}") long pauseBetweenBatchesMs,
+                             @Value("${app.purge.max-batches-per-run:500}") int maxBatchesPerRun,
+                             @Value("${app.purge.lease-seconds:120}") long leaseSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.passwordRestTokenRepository = passwordRestTokenRepository;
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.pauseBetweenBatchesMs = pauseBetweenBatchesMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Scheduled(cron = "${app.purge.cron:0 */15 * * * *}")
+    public void schedulePurge() {
+        purgeExecutor.execute(this::purgeExpiredTokens);
+    }
+
+    public void purgeExpiredTokens() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            log.debug("Purga de tokens en curso en otra réplica");
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            LocalDateTime localNow = LocalDateTime.now();
+            purge("refresh_tokens",
+                    afterId -> refreshTokenRepository.findExpiredTokenIds(now, afterId, firstBatch()),
+                    refreshTokenRepository::deleteByIds);
+            purge("password_reset_tokens",
+                    afterId -> passwordRestTokenRepository.findExpiredTokenIds(localNow, afterId, firstBatch()),
+                    passwordRestTokenRepository::deleteByIds);
+            purge("token_revocations",
+                    afterId -> tokenRevocationRepository.findExpiredIds(now, afterId, firstBatch()),
+                    tokenRevocationRepository::deleteByIds);
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // La interrupción corta la pausa entre lotes y el lease se libera en el finally
+        purgeExecutor.shutdownNow();
+    }
+
+    private long purge(String table, LongFunction<List<Long>> findExpiredIds, Function<List<Long>, Integer> deleteByIds) {
+        Counter purged = Counter.builder("tokens.purge.rows")
+                .description("Tokens expirados eliminados")
+                .tag("table", table)
+                .register(meterRegistry);
+        Timer batchTimer = Timer.builder("tokens.purge.batch")
+                .description("Duración de cada lote de purga")
+                .tag("table", table)
+                .register(meterRegistry);
+
+        long total = 0;
+        long afterId = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            long cursor = afterId;
+            List<Long> ids = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<Long> expired = findExpiredIds.apply(cursor);
+                if (!expired.isEmpty()) {
+                    deleteByIds.apply(expired);
+                }
+                return expired;
+            }));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+
+            purged.increment(ids.size());
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1);
+
+            if (ids.size() < batchSize || !pause() || !schedulerLeaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Purga de {}: {} filas eliminadas", table, total);
+        }
+        return total;
+    }
+
+    private Pageable firstBatch() {
+        return PageRequest.of(0, batchSize);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseBetweenBatchesMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
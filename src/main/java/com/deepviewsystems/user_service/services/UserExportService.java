@@ -0,0 +1,99 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.records.UserProfileResponse;
+import com.deepviewsystems.user_service.utils.CsvUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Exportación completa de usuarios en NDJSON o CSV con memoria constante.
+ *
+ * Se recorre la tabla por páginas de ids ({@code id > último id}, sin OFFSET) y cada página se
+ * lee con la consulta plana de perfiles en su propia transacción de solo lectura: no se cargan
+ * entidades y nada queda retenido entre páginas. Tras cada página se vuelca la salida, así que el
+ * cliente puede reanudar una exportación cortada pasando como {@code after} el último id recibido.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    static final String CSV_HEADER = "id,email,roles,auth_providers,enabled,account_non_locked,created_date,last_modified_date";
+    // El mismo separador que acepta la importación CSV
+    private static final String CSV_LIST_SEPARATOR = "|";
+
+    private final UserService userService;
+    private final ObjectWriter profileWriter;
+    private final int pageSize;
+
+    public UserExportService(UserService userService,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.users.page-size:1000}") int pageSize) {
+        this.userService = userService;
+        this.profileWriter = objectMapper.writerFor(UserProfileResponse.class);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @param afterId cursor: se exportan los usuarios con id mayor (0 = desde el principio)
+     * @param limit   máximo de usuarios a exportar; 0 = todos
+     * @return usuarios exportados
+     */
+    public long export(OutputStream output, Format format, long afterId, long limit) throws IOException {
+        OutputStream out = new BufferedOutputStream(output);
+        if (format == Format.CSV && afterId == 0) {
+            writeLine(out, CSV_HEADER);
+        }
+        long cursor = afterId;
+        long exported = 0;
+        while (limit == 0 || exported < limit) {
+            int size = limit == 0 ? pageSize : (int) Math.min(pageSize, limit - exported);
+            List<UserProfileResponse> page = userService.getProfilesAfter(cursor, size);
+            if (page.isEmpty()) {
+                break;
+            }
+            for (UserProfileResponse profile : page) {
+                if (format == Format.CSV) {
+                    writeLine(out, toCsv(profile));
+                } else {
+                    out.write(profileWriter.writeValueAsBytes(profile));
+                    out.write('\n');
+                }
+            }
+            out.flush();
+            exported += page.size();
+            cursor = page.get(page.size() - 1).id();
+        }
+        // También sin usuarios: la cabecera CSV sigue en el buffer
+        out.flush();
+        log.info("Exportación de usuarios: {} usuarios desde id > {}", exported, afterId);
+        return exported;
+    }
+
+    private static String toCsv(UserProfileResponse profile) {
+        return String.join(",",
+                String.valueOf(profile.id()),
+                CsvUtils.escape(profile.email()),
+                CsvUtils.escape(String.join(CSV_LIST_SEPARATOR, profile.roles())),
+                CsvUtils.escape(String.join(CSV_LIST_SEPARATOR, profile.authProviders())),
+                String.valueOf(profile.enabled()),
+                String.valueOf(profile.accountNonLocked()),
+                String.valueOf(profile.createdDate()),
+                String.valueOf(profile.lastModifiedDate()));
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,341 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.caches.RoleRegistry;
+import com.deepviewsystems.user_service.entities.AuthProvider;
+import com.deepviewsystems.user_service.entities.Role;
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.entities.UserAuthentication;
+import com.deepviewsystems.user_service.records.UserImportProgress;
+import com.deepviewsystems.user_service.records.UserImportRecord;
+import com.deepviewsystems.user_service.records.UserImportResult;
+import com.deepviewsystems.user_service.repositories.AuthProviderRepository;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import com.deepviewsystems.user_service.utils.CsvUtils;
+import com.deepviewsystems.user_service.utils.EmailUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de usuarios desde NDJSON o CSV.
+ *
+ * El archivo se lee línea a línea y se procesa en bloques de {@code app.import.chunk-size} filas:
+ * las contraseñas de cada bloque se hashean en paralelo en un pool acotado y el bloque se inserta
+ * en una transacción propia (inserts por lotes JDBC gracias a los ids por secuencia), tras lo cual
+ * se limpia el contexto de persistencia. La memoria usada no depende del tamaño del archivo.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final String CSV_ROLE_SEPARATOR = "\\|";
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final AuthProviderRepository authProviderRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader recordReader;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final int chunkSize;
+
+    private final ConcurrentMap<String, ImportState> running = new ConcurrentHashMap<>();
+
+    public UserImportService(UserRepository userRepository,
+                             RoleRegistry roleRegistry,
+                             AuthProviderRepository authProviderRepository,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.import.chunk-size:500}") int chunkSize,
+                             @Value("${app.import.hashing-threads:0}") int hashingThreads) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.authProviderRepository = authProviderRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recordReader = objectMapper.readerFor(UserImportRecord.class);
+        this.chunkSize = chunkSize;
+        this.hashingExecutor = newHashingExecutor(
+                hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors(), chunkSize);
+    }
+
+    public UserImportResult importUsers(InputStream input, Format format) throws IOException {
+        ImportState state = new ImportState(UUID.randomUUID().toString(), format);
+        running.put(state.importId, state);
+        log.info("Importación {} iniciada ({})", state.importId, format);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            ImportContext context = loadContext();
+            List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String line;
+
+            if (format == Format.CSV) {
+                // Cabecera: email,password,roles
+                reader.readLine();
+                lineNumber++;
+            }
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(new ParsedRow(lineNumber, parse(line, format)));
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    state.processed.incrementAndGet();
+                    state.fail(lineNumber, "formato inválido");
+                }
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, context, state);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, context, state);
+            }
+        } finally {
+            running.remove(state.importId);
+        }
+
+        UserImportResult result = state.toResult();
+        log.info("Importación {} finalizada: {} procesadas, {} importadas, {} omitidas, {} con error en {} ms",
+                result.importId(), result.processed(), result.imported(), result.skipped(), result.failed(),
+                result.durationMs());
+        return result;
+    }
+
+    public List<UserImportProgress> currentImports() {
+        return running.values().stream().map(ImportState::toProgress).toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private void processChunk(List<ParsedRow> rows, ImportContext context, ImportState state) {
+        state.processed.addAndGet(rows.size());
+
+        // Validación y deduplicación dentro del bloque (gana la primera aparición)
+        Map<String, ParsedRow> candidates = new LinkedHashMap<>();
+        for (ParsedRow row : rows) {
+            Set<ConstraintViolation<UserImportRecord>> violations = validator.validate(row.record());
+            if (!violations.isEmpty()) {
+                state.fail(row.lineNumber(), violations.iterator().next().getMessage());
+            } else if (!context.hasRoles(row.record().roles())) {
+                state.fail(row.lineNumber(), "rol desconocido");
+            } else if (candidates.putIfAbsent(EmailUtils.normalize(row.record().email()), row) != null) {
+                state.skipped.incrementAndGet();
+            }
+        }
+
+        Set<String> existing = candidates.isEmpty() ? Set.of() : userRepository.findExistingEmails(candidates.keySet());
+        existing.forEach(email -> {
+            candidates.remove(email);
+            state.skipped.incrementAndGet();
+        });
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Map<String, CompletableFuture<String>> hashes = new LinkedHashMap<>();
+        candidates.forEach((email, row) -> hashes.put(email, CompletableFuture
+                .supplyAsync(() -> passwordEncoder.encode(row.record().password()), hashingExecutor)
+                .exceptionally(e -> {
+                    log.warn("Importación {}: no se pudo hashear la contraseña de la línea {}: {}",
+                            state.importId, row.lineNumber(), e.getMessage());
+                    return null;
+                })));
+        CompletableFuture.allOf(hashes.values().toArray(CompletableFuture[]::new)).join();
+        // Un fallo al hashear solo descarta su línea
+        hashes.forEach((email, hash) -> {
+            if (hash.join() == null) {
+                state.fail(candidates.remove(email).lineNumber(), "error al procesar la contraseña");
+            }
+        });
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        try {
+            save(candidates, hashes, context);
+            state.imported.addAndGet(candidates.size());
+        } catch (RuntimeException e) {
+            // Se reintenta fila a fila para reportar solo las que fallan
+            log.warn("Importación {}: bloque de {} filas rechazado, se reintenta fila a fila: {}",
+                    state.importId, candidates.size(), e.getMessage());
+            candidates.forEach((email, row) -> {
+                try {
+                    save(Map.of(email, row), hashes, context);
+                    state.imported.incrementAndGet();
+                } catch (RuntimeException rowError) {
+                    log.warn("Importación {}: línea {} rechazada: {}", state.importId, row.lineNumber(),
+                            rowError.getMessage());
+                    state.fail(row.lineNumber(), "error al guardar");
+                }
+            });
+        }
+
+        log.debug("Importación {}: {} filas procesadas", state.importId, state.processed.get());
+    }
+
+    private void save(Map<String, ParsedRow> rows, Map<String, CompletableFuture<String>> hashes, ImportContext context) {
+        transactionTemplate.executeWithoutResult(status -> {
+            AuthProvider localProvider = entityManager.getReference(AuthProvider.class, context.localProviderId());
+            for (Map.Entry<String, ParsedRow> entry : rows.entrySet()) {
+                User user = User.builder()
+                        .email(entry.getKey())
+                        .password(hashes.get(entry.getKey()).join())
+                        .roles(context.roleReferences(entityManager, entry.getValue().record().roles()))
+                        .authentications(new ArrayList<>())
+                        .build();
+                user.getAuthentications().add(UserAuthentication.builder()
+                        .user(user)
+                        .provider(localProvider)
+                        .providerUserId(entry.getKey())
+                        .build());
+                entityManager.persist(user);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private UserImportRecord parse(String line, Format format) throws JsonProcessingException {
+        if (format == Format.NDJSON) {
+            return recordReader.readValue(line);
+        }
+        List<String> fields = CsvUtils.parseLine(line);
+        if (fields.size() < 2) {
+            throw new IllegalArgumentException("Se esperaban al menos email y password");
+        }
+        Set<String> roles = fields.size() > 2 && !fields.get(2).isBlank()
+                ? Arrays.stream(fields.get(2).split(CSV_ROLE_SEPARATOR)).map(String::trim).collect(Collectors.toSet())
+                : null;
+        return new UserImportRecord(fields.get(0), fields.get(1), roles);
+    }
+
+    private ImportContext loadContext() {
+        Map<String, Long> roleIds = roleRegistry.idsByAuthority();
+        Long localProviderId = authProviderRepository.findByName(SecurityConstants.PROVIDER_LOCAL)
+                .map(AuthProvider::getId)
+                .orElseThrow(() -> new IllegalStateException("Proveedor no configurado: " + SecurityConstants.PROVIDER_LOCAL));
+        return new ImportContext(roleIds, localProviderId);
+    }
+
+    private static ThreadPoolExecutor newHashingExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Con la cola llena hashea el hilo de la importación: frena la lectura en vez de acumular
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private record ParsedRow(long lineNumber, UserImportRecord record) {
+    }
+
+    private record ImportContext(Map<String, Long> roleIds, Long localProviderId) {
+
+        boolean hasRoles(Collection<String> roles) {
+            return roles == null || roleIds.keySet().containsAll(roles);
+        }
+
+        Set<Role> roleReferences(EntityManager entityManager, Collection<String> roles) {
+            Collection<String> authorities = roles == null || roles.isEmpty()
+                    ? Set.of(SecurityConstants.ROLE_USER)
+                    : roles;
+            Set<Role> references = new HashSet<>();
+            authorities.forEach(authority -> references.add(entityManager.getReference(Role.class, roleIds.get(authority))));
+            return references;
+        }
+    }
+
+    private static final class ImportState {
+
+        private final String importId;
+        private final Format format;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+
+        private ImportState(String importId, Format format) {
+            this.importId = importId;
+            this.format = format;
+        }
+
+        private synchronized void fail(long lineNumber, String reason) {
+            failed.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("línea " + lineNumber + ": " + reason);
+            }
+        }
+
+        private UserImportProgress toProgress() {
+            return new UserImportProgress(importId, format.name(), processed.get(), imported.get(),
+                    skipped.get(), failed.get(), startedAt);
+        }
+
+        private synchronized UserImportResult toResult() {
+            return new UserImportResult(importId, processed.get(), imported.get(), skipped.get(), failed.get(),
+                    List.copyOf(errors), Instant.now().toEpochMilli() - startedAt.toEpochMilli());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.caches.RoleRegistry;
+import com.deepviewsystems.user_service.exceptions.ResourceNotFoundException;
+import com.deepviewsystems.user_service.mappers.UserMapper;
+import com.deepviewsystems.user_service.records.UserProfileResponse;
+import com.deepviewsystems.user_service.records.UserProfileRow;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lectura de perfiles de usuario.
+ *
+ * Cada perfil sale de una única consulta plana (usuario × roles × proveedores, ver
+ * {@link UserRepository#findProfileRows}) que se agrega en memoria; no se cargan entidades ni
+ * colecciones perezosas. La variante por lotes divide los ids en bloques para acotar el IN.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+    private static final int IDS_PER_QUERY = 500;
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final UserMapper userMapper;
+
+    @Transactional(readOnly = true)
+    public UserProfileResponse getProfile(Long userId) {
+        List<UserProfileResponse> profiles = getProfiles(List.of(userId));
+        if (profiles.isEmpty()) {
+            throw new ResourceNotFoundException("Usuario no encontrado");
+        }
+        return profiles.get(0);
+    }
+
+    /**
+     * Perfiles en el orden de los ids recibidos; los ids inexistentes se omiten.
+     */
+    @Transactional(readOnly = true)
+    public List<UserProfileResponse> getProfiles(Collection<Long> userIds) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(userIds));
+        Map<Long, ProfileAccumulator> accumulators = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()));
+            for (UserProfileRow row : userRepository.findProfileRows(chunk)) {
+                accumulators.computeIfAbsent(row.userId(), id -> new ProfileAccumulator(row)).add(row);
+            }
+        }
+
+        List<UserProfileResponse> profiles = new ArrayList<>(accumulators.size());
+        for (Long id : ids) {
+            ProfileAccumulator accumulator = accumulators.get(id);
+            if (accumulator != null) {
+                profiles.add(userMapper.toProfile(accumulator.first, roleRegistry.fromRoleIds(accumulator.roleIds),
+                        accumulator.providers));
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Hasta {@code limit} perfiles con id mayor que {@code afterId}, por id ascendente.
+     */
+    @Transactional(readOnly = true)
+    public List<UserProfileResponse> getProfilesAfter(long afterId, int limit) {
+        return getProfiles(userRepository.findIdsAfter(afterId, PageRequest.ofSize(limit)));
+    }
+
+    private static final class ProfileAccumulator {
+
+        private final UserProfileRow first;
+        private final Set<Long> roleIds = new LinkedHashSet<>();
+        private final Set<String> providers = new LinkedHashSet<>();
+
+        private ProfileAccumulator(UserProfileRow first) {
+            this.first = first;
+        }
+
+        private void add(UserProfileRow row) {
+            if (row.roleId() != null) {
+                roleIds.add(row.roleId());
+            }
+            if (row.providerName() != null) {
+                providers.add(row.providerName());
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.deepviewsystems.user_service.utils;
+
+import java.util.Locale;
+
+public final class EmailUtils {
+
+    private EmailUtils() {
+    }
+
+    /**
+     * Normaliza un email para almacenarlo y buscarlo siempre con la misma forma.
+     */
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,52 @@
+package com.deepviewsystems.user_service.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Generación y hash de tokens opacos (refresh y reset de contraseña).
+ *
+ * El token entregado al cliente es {@code <prefijo><32 bytes aleatorios en base64url>}; en base
+ * de datos solo se guarda su SHA-256 (32 bytes fijos), que es también la clave del índice único.
+ * El prefijo identifica el tipo de token y permite descartar valores mal formados sin consultar la base.
+ */
+public final class TokenUtils {
+
+    public static final int DIGEST_LENGTH = 32;
+
+    private static final int TOKEN_BYTES = 32;
+    // 32 bytes en base64url sin padding
+    private static final int ENCODED_LENGTH = 43;
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private TokenUtils() {
+    }
+
+    public static String generate(String prefix) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        SECURE_RANDOM.nextBytes(bytes);
+        return prefix + ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * Comprueba que el token tenga el prefijo y la longitud esperados.
+     */
+    public static boolean isWellFormed(String token, String prefix) {
+        return token != null
+                && token.length() == prefix.length() + ENCODED_LENGTH
+                && token.startsWith(prefix);
+    }
+
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible en esta JVM", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.deepviewsystems.user_service.validators;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Longitud máxima en bytes UTF-8, no en caracteres. Para contraseñas: BCrypt solo admite 72 bytes
+ * y {@code @Size} cuenta caracteres, que pueden ocupar hasta 4 bytes.
+ * Un valor {@code null} es válido (se comprueba con {@code @NotBlank}).
+ */
+@Documented
+@Constraint(validatedBy = MaxUtf8BytesValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaxUtf8Bytes {
+
+    int value();
+
+    String message() default "El valor supera la longitud máxima";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,24 @@
+package com.deepviewsystems.user_service.validators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.nio.charset.StandardCharsets;
+
+public class MaxUtf8BytesValidator implements ConstraintValidator<MaxUtf8Bytes, CharSequence> {
+
+    private int max;
+
+    @Override
+    public void initialize(MaxUtf8Bytes constraint) {
+        this.max = constraint.value();
+    }
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        // Un char UTF-16 ocupa como mucho 3 bytes en UTF-8: los valores cortos no se codifican
+        return value == null
+                || value.length() * 3 <= max
+                || value.toString().getBytes(StandardCharsets.UTF_8).length <= max;
+    }
+}
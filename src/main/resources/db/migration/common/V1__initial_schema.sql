@@ -0,0 +1,87 @@
+-- Esquema tal como lo generaba Hibernate con ddl-auto=update (ids IDENTITY, tokens en claro).
+-- Las bases existentes lo toman como aplicado (spring.flyway.baseline-version=1) y empiezan
+-- en V2; las nuevas lo crean y siguen el mismo camino. SQL comun a H2 y PostgreSQL.
+
+CREATE TABLE auth_providers (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name               VARCHAR(50)                 NOT NULL,
+    created_by         VARCHAR(255)                NOT NULL,
+    created_date       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_modified_by   VARCHAR(255)                NOT NULL,
+    last_modified_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_auth_providers PRIMARY KEY (id),
+    CONSTRAINT uk_auth_providers_name UNIQUE (name)
+);
+
+CREATE TABLE roles (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    authority          VARCHAR(255)                NOT NULL,
+    created_by         VARCHAR(255)                NOT NULL,
+    created_date       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_modified_by   VARCHAR(255)                NOT NULL,
+    last_modified_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_roles PRIMARY KEY (id),
+    CONSTRAINT uk_roles_authority UNIQUE (authority)
+);
+
+CREATE TABLE users (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email              VARCHAR(255)                NOT NULL,
+    password           VARCHAR(255),
+    enabled            BOOLEAN DEFAULT TRUE        NOT NULL,
+    account_non_locked BOOLEAN DEFAULT TRUE        NOT NULL,
+    created_by         VARCHAR(255)                NOT NULL,
+    created_date       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_modified_by   VARCHAR(255)                NOT NULL,
+    last_modified_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE users_roles (
+    user_id  BIGINT NOT NULL,
+    roles_id BIGINT NOT NULL,
+    CONSTRAINT pk_users_roles PRIMARY KEY (user_id, roles_id),
+    CONSTRAINT fk_users_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_users_roles_role FOREIGN KEY (roles_id) REFERENCES roles (id)
+);
+
+CREATE TABLE user_authentications (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id            BIGINT                      NOT NULL,
+    provider_id        BIGINT                      NOT NULL,
+    provider_user_id   VARCHAR(255),
+    created_by         VARCHAR(255)                NOT NULL,
+    created_date       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_modified_by   VARCHAR(255)                NOT NULL,
+    last_modified_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_user_authentications PRIMARY KEY (id),
+    CONSTRAINT fk_user_authentications_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_authentications_provider FOREIGN KEY (provider_id) REFERENCES auth_providers (id)
+);
+
+CREATE TABLE refresh_tokens (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id            BIGINT                      NOT NULL,
+    token              VARCHAR(255)                NOT NULL,
+    expiry_date        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_by         VARCHAR(255)                NOT NULL,
+    created_date       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_modified_by   VARCHAR(255)                NOT NULL,
+    last_modified_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- @OneToOne con el usuario: Hibernate genera tambien la unicidad de user_id
+CREATE TABLE password_reset_tokens (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    token       VARCHAR(255) NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    expiry_date TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_password_reset_tokens PRIMARY KEY (id),
+    CONSTRAINT uk_password_reset_tokens_token UNIQUE (token),
+    CONSTRAINT uk_password_reset_tokens_user_id UNIQUE (user_id),
+    CONSTRAINT fk_password_reset_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
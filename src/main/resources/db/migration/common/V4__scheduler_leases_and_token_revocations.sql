@@ -0,0 +1,24 @@
+-- Tablas compartidas entre replicas: leases de las tareas programadas (SchedulerLease) y
+-- eventos de revocacion de access tokens (AccessTokenRevocationList).
+
+CREATE SEQUENCE token_revocations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE scheduler_leases (
+    name         VARCHAR(100)                NOT NULL,
+    owner        VARCHAR(200),
+    locked_until TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_scheduler_leases PRIMARY KEY (name)
+);
+
+CREATE TABLE token_revocations (
+    id         BIGINT                      NOT NULL,
+    user_id    BIGINT                      NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_token_revocations PRIMARY KEY (id)
+);
+
+-- findActiveSince (lectura periodica de revocaciones en cada replica) y purga por expires_at.
+-- En este orden: con los dos en la condicion de findActiveSince, H2 elige el primero.
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations (revoked_at);
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations (expires_at);
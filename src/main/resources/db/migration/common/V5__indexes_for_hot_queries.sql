@@ -0,0 +1,22 @@
+-- Indices para las consultas frecuentes de los repositorios. IF NOT EXISTS por si alguno se
+-- creo a mano en las bases adoptadas con baseline-on-migrate.
+-- Cada indice esta cubierto por QueryPlanTest.
+
+-- findByProviderNameAndProviderUserId / findUserIdByProviderNameAndProviderUserId (login social).
+-- user_id al final: la busqueda del id del usuario se resuelve solo con el indice.
+CREATE INDEX IF NOT EXISTS idx_user_authentications_provider_user
+    ON user_authentications (provider_id, provider_user_id, user_id);
+
+-- findByUser / findByUserAndProvider / existsByUserAndProvider y el LEFT JOIN de findProfileRows
+CREATE INDEX IF NOT EXISTS idx_user_authentications_user_provider
+    ON user_authentications (user_id, provider_id);
+
+-- RefreshTokenRepository.deleteByUser (revocacion de sesiones al cambiar la contrasena)
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+
+-- Purga por lotes: expiry_date < :now AND id > :afterId ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expiry_date ON password_reset_tokens (expiry_date);
+
+-- findEmailsCreatedSince (altas de otras replicas para el filtro de emails)
+CREATE INDEX IF NOT EXISTS idx_users_created_date ON users (created_date);
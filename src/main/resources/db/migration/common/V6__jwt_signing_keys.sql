@@ -0,0 +1,9 @@
+-- Anillo de claves de firma JWT compartido por todas las replicas (SigningKeyRing).
+-- La clave privada se guarda cifrada con app.security.jwt.key-encryption-secret.
+CREATE TABLE jwt_signing_keys (
+    kid         VARCHAR(36)                 NOT NULL,
+    public_key  VARCHAR(4096)               NOT NULL,
+    private_key VARCHAR(4096)               NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_jwt_signing_keys PRIMARY KEY (kid)
+);
@@ -0,0 +1,25 @@
+-- Ids por secuencia (allocationSize = 50) en lugar de IDENTITY. Hibernate usa el optimizador
+-- pooled: el valor de la secuencia es el final de cada bloque de 50, asi que arranca en
+-- MAX(id) + 50 para que el primer id asignado sea MAX(id) + 1.
+-- Solo H2; PostgreSQL tiene su version en db/migration/postgresql.
+
+ALTER TABLE auth_providers ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE user_authentications ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE password_reset_tokens ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE auth_providers_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE roles_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE user_authentications_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE refresh_tokens_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE password_reset_tokens_seq START WITH 50 INCREMENT BY 50;
+
+ALTER SEQUENCE auth_providers_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM auth_providers);
+ALTER SEQUENCE roles_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM roles);
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM users);
+ALTER SEQUENCE user_authentications_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM user_authentications);
+ALTER SEQUENCE refresh_tokens_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM refresh_tokens);
+ALTER SEQUENCE password_reset_tokens_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM password_reset_tokens);
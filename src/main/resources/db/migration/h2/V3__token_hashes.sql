@@ -0,0 +1,16 @@
+-- Los tokens de refresco y de recuperacion pasan a guardarse como SHA-256 (TokenUtils.hash).
+-- Se calcula el hash de los existentes para no cerrar las sesiones abiertas ni invalidar
+-- los enlaces de recuperacion ya enviados, y se borra la columna en claro.
+-- Solo H2; PostgreSQL tiene su version en db/migration/postgresql.
+
+ALTER TABLE refresh_tokens ADD COLUMN token_hash BYTEA;
+UPDATE refresh_tokens SET token_hash = HASH('SHA-256', token);
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_tokens DROP COLUMN token;
+CREATE UNIQUE INDEX ux_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+
+ALTER TABLE password_reset_tokens ADD COLUMN token_hash BYTEA;
+UPDATE password_reset_tokens SET token_hash = HASH('SHA-256', token);
+ALTER TABLE password_reset_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE password_reset_tokens DROP COLUMN token;
+CREATE UNIQUE INDEX ux_password_reset_tokens_token_hash ON password_reset_tokens (token_hash);
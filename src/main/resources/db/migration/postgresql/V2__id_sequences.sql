@@ -0,0 +1,26 @@
+-- Ids por secuencia (allocationSize = 50) en lugar de IDENTITY. Hibernate usa el optimizador
+-- pooled: el valor de la secuencia es el final de cada bloque de 50, asi que arranca en
+-- MAX(id) + 50 para que el primer id asignado sea MAX(id) + 1.
+-- Solo PostgreSQL; H2 tiene su version en db/migration/h2.
+
+ALTER TABLE auth_providers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE user_authentications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE password_reset_tokens ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE auth_providers_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE roles_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE user_authentications_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE refresh_tokens_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE password_reset_tokens_seq START WITH 50 INCREMENT BY 50;
+
+-- is_called = false: el siguiente nextval devuelve exactamente este valor
+SELECT setval('auth_providers_seq', COALESCE(MAX(id), 0) + 50, false) FROM auth_providers;
+SELECT setval('roles_seq', COALESCE(MAX(id), 0) + 50, false) FROM roles;
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+SELECT setval('user_authentications_seq', COALESCE(MAX(id), 0) + 50, false) FROM user_authentications;
+SELECT setval('refresh_tokens_seq', COALESCE(MAX(id), 0) + 50, false) FROM refresh_tokens;
+SELECT setval('password_reset_tokens_seq', COALESCE(MAX(id), 0) + 50, false) FROM password_reset_tokens;
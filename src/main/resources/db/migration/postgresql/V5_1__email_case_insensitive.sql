@@ -0,0 +1,26 @@
+-- Unicidad de email sin distinguir mayusculas. Es solo una restriccion: ninguna consulta lo usa,
+-- porque la aplicacion normaliza los emails a minusculas (EmailUtils.normalize) y busca por
+-- igualdad exacta con el indice unico de email. Impide duplicados que solo difieran en
+-- mayusculas aunque se escriban fuera de la aplicacion.
+-- Solo PostgreSQL: H2 no admite indices sobre expresiones.
+
+-- Las bases adoptadas con baseline-on-migrate pueden tener duplicados de antes de la
+-- normalizacion. No se fusionan cuentas automaticamente: se para la migracion con el detalle
+-- para resolverlos a mano (fusionar o renombrar) y volver a arrancar.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(LOWER(email) || ' (ids ' || ids || ')', ', ')
+    INTO duplicates
+    FROM (SELECT LOWER(email) AS email, string_agg(id::TEXT, ',' ORDER BY id) AS ids
+          FROM users
+          GROUP BY LOWER(email)
+          HAVING COUNT(*) > 1
+          LIMIT 50) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Emails duplicados sin distinguir mayusculas, resolver antes de migrar: %', duplicates;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_lower ON users (LOWER(email));
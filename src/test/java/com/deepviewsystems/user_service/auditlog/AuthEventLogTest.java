@@ -0,0 +1,126 @@
+package com.deepviewsystems.user_service.auditlog;
+
+import com.deepviewsystems.user_service.records.AuthEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    private AuthEventLog log;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (log != null) {
+            log.shutdown();
+        }
+    }
+
+    @Test
+    void appendedEventsAreReadBackInOrder() throws Exception {
+        log = newLog(1, 10);
+        Instant start = Instant.now().minusSeconds(1).truncatedTo(ChronoUnit.MILLIS);
+
+        log.append(event(start, 1L, "success", "a@dvs.com"));
+        log.append(event(start.plusMillis(1), null, "invalid_credentials", "ñandú@dvs.com"));
+        List<AuthEvent> events = awaitEvents(start, 2);
+
+        assertEquals(1L, events.get(0).userId());
+        assertEquals("invalid_credentials", events.get(1).outcome());
+        assertNull(events.get(1).userId());
+        assertEquals("ñandú@dvs.com", events.get(1).subject());
+        assertEquals("10.0.0.1", events.get(1).clientIp());
+    }
+
+    @Test
+    void fullSegmentsRotateAndOldOnesAreRemoved() throws Exception {
+        log = newLog(1, 2);
+        Instant start = Instant.now().minusSeconds(1).truncatedTo(ChronoUnit.MILLIS);
+        int total = 40_000;
+
+        for (int i = 0; i < total; i++) {
+            log.append(event(start.plusMillis(i), (long) i, "success", "user-" + i + "@dvs.com"));
+        }
+        log.shutdown();
+
+        assertTrue(segmentCount() <= 2, "La retención debe conservar como máximo 2 segmentos");
+        try (Stream<AuthEvent> events = log.stream(start, Instant.MAX)) {
+            List<AuthEvent> remaining = events.toList();
+            assertFalse(remaining.isEmpty());
+            assertEquals(total - 1, remaining.get(remaining.size() - 1).userId());
+        }
+    }
+
+    @Test
+    void streamSkipsEventsOutsideTheRange() throws Exception {
+        log = newLog(1, 10);
+        Instant start = Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.MILLIS);
+
+        log.append(event(start, 1L, "success", "old@dvs.com"));
+        log.append(event(start.plusSeconds(30), 2L, "success", "new@dvs.com"));
+        awaitEvents(start, 2);
+
+        try (Stream<AuthEvent> events = log.stream(start.plusSeconds(10), Instant.now())) {
+            assertEquals(List.of(2L), events.map(AuthEvent::userId).toList());
+        }
+    }
+
+    @Test
+    void retentionRunsAtStartupWithoutWaitingForARotation() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            Files.createFile(directory.resolve(String.format("auth-events-%020d.log", i)));
+        }
+
+        log = newLog(1, 2);
+
+        assertEquals(2, segmentCount());
+        assertFalse(Files.exists(directory.resolve(String.format("auth-events-%020d.log", 1))));
+    }
+
+    private AuthEventLog newLog(int segmentSizeMb, int maxSegments) throws IOException {
+        AuthEventLog created = new AuthEventLog(new SimpleMeterRegistry(), true, directory.toString(),
+                segmentSizeMb, 30, maxSegments, 65_536, 512, 50);
+        created.start();
+        return created;
+    }
+
+    private List<AuthEvent> awaitEvents(Instant from, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            try (Stream<AuthEvent> events = log.stream(from, Instant.MAX)) {
+                List<AuthEvent> read = events.toList();
+                if (read.size() >= expected) {
+                    return read;
+                }
+            }
+            Thread.sleep(20);
+        }
+        fail("No se leyeron " + expected + " eventos a tiempo");
+        return List.of();
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static AuthEvent event(Instant timestamp, Long userId, String outcome, String subject) {
+        return new AuthEvent(timestamp, "login", "LOCAL", outcome, userId, subject, "10.0.0.1");
+    }
+}
@@ -0,0 +1,95 @@
+package com.deepviewsystems.user_service.caches;
+
+import com.deepviewsystems.user_service.entities.TokenRevocation;
+import com.deepviewsystems.user_service.repositories.TokenRevocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AccessTokenRevocationListTest {
+
+    private final TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+    private final UserSecurityCache userSecurityCache = mock(UserSecurityCache.class);
+    private final AccessTokenRevocationList revocations =
+            new AccessTokenRevocationList(repository, userSecurityCache, new SimpleMeterRegistry(), 900, 30);
+
+    @Test
+    void tokensIssuedBeforeRevocationAreRejected() {
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Instant before = Instant.now().minusSeconds(5);
+
+        revocations.revokeAll(7L);
+
+        assertTrue(revocations.isRevoked(7L, Date.from(before)));
+        assertFalse(revocations.isRevoked(7L, Date.from(Instant.now().plusSeconds(2))));
+        assertFalse(revocations.isRevoked(8L, Date.from(before)));
+    }
+
+    @Test
+    void tokensIssuedInTheSecondOfTheRevocationAreAccepted() {
+        Instant revokedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusMillis(700);
+        when(repository.findActiveSince(any(), any())).thenReturn(List.of(revocation(3L, revokedAt)));
+
+        revocations.poll();
+
+        // iat sin milisegundos, como lo emite JwtService
+        assertFalse(revocations.isRevoked(3L, Date.from(revokedAt.truncatedTo(ChronoUnit.SECONDS))));
+        assertTrue(revocations.isRevoked(3L, Date.from(revokedAt.truncatedTo(ChronoUnit.SECONDS).minusSeconds(1))));
+    }
+
+    @Test
+    void pollAppliesRevocationsFromOtherReplicasAndDropsExpiredOnes() {
+        Instant now = Instant.now();
+        when(repository.findActiveSince(any(), any())).thenReturn(List.of(
+                revocation(1L, now.minusSeconds(60)),
+                revocation(2L, now.minusSeconds(1_000))));
+
+        revocations.poll();
+
+        assertTrue(revocations.isRevoked(1L, Date.from(now.minusSeconds(120).truncatedTo(ChronoUnit.SECONDS))));
+        // Revocación más antigua que el TTL: ningún token afectado sigue vivo
+        assertEquals(1, revocations.size());
+    }
+
+    @Test
+    void repeatedPollsOverlapWithoutLosingTheLatestRevocation() {
+        Instant now = Instant.now();
+        TokenRevocation older = revocation(1L, now.minusSeconds(120));
+        TokenRevocation newer = revocation(1L, now.minusSeconds(10));
+        when(repository.findActiveSince(any(), any())).thenReturn(List.of(newer)).thenReturn(List.of(older));
+
+        revocations.poll();
+        revocations.poll();
+
+        assertTrue(revocations.isRevoked(1L, Date.from(now.minusSeconds(60))));
+    }
+
+    @Test
+    void pollInvalidatesCachedSnapshotOnlyForNewRevocations() {
+        Instant now = Instant.now();
+        TokenRevocation revocation = revocation(4L, now.minusSeconds(10));
+        when(repository.findActiveSince(any(), any())).thenReturn(List.of(revocation));
+
+        revocations.poll();
+        // El solapamiento devuelve la misma fila en la siguiente lectura
+        revocations.poll();
+
+        verify(userSecurityCache, times(1)).invalidate(4L);
+    }
+
+    private static TokenRevocation revocation(Long userId, Instant revokedAt) {
+        return TokenRevocation.builder()
+                .userId(userId)
+                .revokedAt(revokedAt)
+                .expiresAt(revokedAt.plusSeconds(900))
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.deepviewsystems.user_service.caches;
+
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RegisteredEmailFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RegisteredEmailFilter filter = new RegisteredEmailFilter(userRepository,
+            mock(EntityManagerFactory.class), mock(PlatformTransactionManager.class), meterRegistry,
+            true, 1_000, 0.01, 5_000, 60, 30);
+
+    @Test
+    void lookupsGoToDatabaseUntilLoaded() {
+        assertTrue(filter.exists("ana@example.com", email -> true));
+    }
+
+    @Test
+    void absentEmailsSkipTheDatabase() {
+        load("ana@example.com", "luis@example.com");
+
+        assertTrue(filter.exists("ana@example.com", email -> true));
+        assertEquals(Optional.empty(), filter.find("nadie@example.com", email -> fail("no debía consultar la base")));
+        assertEquals(1, meterRegistry.get("email.filter.lookups").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void emailsCreatedOnOtherReplicasArePickedUpByPoll() {
+        load("ana@example.com");
+        when(userRepository.findEmailsCreatedSince(any())).thenReturn(List.of("nuevo@example.com"));
+
+        filter.poll();
+
+        assertTrue(filter.exists("nuevo@example.com", email -> true));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredProbability() {
+        load(IntStream.range(0, 1_000).mapToObj(i -> "user" + i + "@example.com").toArray(String[]::new));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.exists("other" + i + "@example.com", email -> false))
+                .count();
+
+        assertEquals(0, falsePositives);
+        double rate = meterRegistry.get("email.filter.lookups").tag("result", "false_positive").counter().count() / 100_000;
+        assertTrue(rate < 0.03, "tasa de falsos positivos " + rate);
+        assertTrue(meterRegistry.get("email.filter.memory").gauge().value() > 0);
+    }
+
+    private void load(String... emails) {
+        when(userRepository.count()).thenReturn((long) emails.length);
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of(emails));
+        filter.rebuild();
+    }
+}
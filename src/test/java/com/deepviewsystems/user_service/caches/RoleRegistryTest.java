@@ -0,0 +1,63 @@
+package com.deepviewsystems.user_service.caches;
+
+import com.deepviewsystems.user_service.entities.Role;
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.repositories.RoleRepository;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import com.deepviewsystems.user_service.security.AuthoritySet;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RoleRegistryTest {
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void savingUsersDoesNotReloadTheRegistry() {
+        Long userRoleId = roleRegistry.findIdByAuthority(SecurityConstants.ROLE_USER).orElseThrow();
+        AuthoritySet before = roleRegistry.fromRoleIds(List.of(userRoleId));
+        long reloads = roleRegistry.reloadCount();
+
+        User user = userRepository.save(User.builder()
+                .email("role-registry-" + System.nanoTime() + "@dvs.com")
+                .roles(Set.of(roleRepository.getReferenceById(userRoleId)))
+                .build());
+        user.setEnabled(false);
+        userRepository.save(user);
+        userRepository.delete(user);
+
+        assertSame(before, roleRegistry.fromRoleIds(List.of(userRoleId)));
+        assertEquals(reloads, roleRegistry.reloadCount());
+    }
+
+    @Test
+    void savingARoleReloadsTheRegistry() {
+        roleRegistry.idsByAuthority();
+        long reloads = roleRegistry.reloadCount();
+
+        Role role = roleRepository.save(Role.builder().authority("ROLE_REGISTRY_TEST").build());
+        try {
+            assertEquals(role.getId(), roleRegistry.findIdByAuthority("ROLE_REGISTRY_TEST").orElseThrow());
+            assertEquals(reloads + 1, roleRegistry.reloadCount());
+        } finally {
+            roleRepository.delete(role);
+        }
+    }
+}
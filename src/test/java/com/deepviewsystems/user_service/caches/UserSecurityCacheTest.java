@@ -0,0 +1,77 @@
+package com.deepviewsystems.user_service.caches;
+
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.mappers.UserMapper;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import com.deepviewsystems.user_service.security.AuthoritySet;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserSecurityCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RoleRegistry roleRegistry = mock(RoleRegistry.class);
+    private final UserSecurityCache cache = new UserSecurityCache(userRepository, roleRegistry, new UserMapper(),
+            new SimpleMeterRegistry(), 1_000, 120);
+
+    UserSecurityCacheTest() {
+        when(roleRegistry.fromRoleIds(any())).thenReturn(AuthoritySet.of(List.of(SecurityConstants.ROLE_USER)));
+    }
+
+    @Test
+    void loadedSnapshotIsCachedByIdAndEmail() {
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user()));
+
+        assertTrue(cache.findById(5L).isPresent());
+        assertTrue(cache.findById(5L).isPresent());
+        assertTrue(cache.findByEmail("ana@dvs.com").isPresent());
+
+        verify(userRepository, times(1)).findById(5L);
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void loadInvalidatedWhileRunningIsNotCached() {
+        // La invalidación llega después de leer el usuario y antes de guardar la instantánea
+        when(userRepository.findById(5L)).thenAnswer(invocation -> {
+            User user = user();
+            cache.invalidate(5L);
+            return Optional.of(user);
+        });
+
+        assertTrue(cache.findById(5L).isPresent());
+        assertTrue(cache.findById(5L).isPresent());
+
+        verify(userRepository, times(2)).findById(5L);
+    }
+
+    @Test
+    void invalidateAllDiscardsLoadsInProgress() {
+        when(userRepository.findByEmail("ana@dvs.com")).thenAnswer(invocation -> {
+            User user = user();
+            cache.invalidateAll();
+            return Optional.of(user);
+        });
+
+        assertTrue(cache.findByEmail("ana@dvs.com").isPresent());
+        assertTrue(cache.findByEmail("ana@dvs.com").isPresent());
+
+        verify(userRepository, times(2)).findByEmail("ana@dvs.com");
+    }
+
+    private static User user() {
+        return User.builder()
+                .id(5L)
+                .email("ana@dvs.com")
+                .password("{bcrypt}hash")
+                .build();
+    }
+}
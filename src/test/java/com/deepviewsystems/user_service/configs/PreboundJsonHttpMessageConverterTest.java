@@ -0,0 +1,60 @@
+package com.deepviewsystems.user_service.configs;
+
+import com.deepviewsystems.user_service.records.ApiResponse;
+import com.deepviewsystems.user_service.records.AuthResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreboundJsonHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(new BlackbirdModule())
+            .build();
+    private final Type authResponseType = ResolvableType.forClassWithGenerics(ApiResponse.class, AuthResponse.class).getType();
+    private final PreboundJsonHttpMessageConverter converter =
+            new PreboundJsonHttpMessageConverter(objectMapper, List.of(authResponseType));
+
+    @Test
+    void matchesGenericReturnTypeOfControllerMethods() throws Exception {
+        Type declared = getClass().getDeclaredMethod("authEndpoint").getGenericReturnType();
+        Type other = getClass().getDeclaredMethod("otherEndpoint").getGenericReturnType();
+
+        assertTrue(converter.canWrite(declared, ApiResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(other, ApiResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(declared, ApiResponse.class, MediaType.APPLICATION_XML));
+        assertFalse(converter.canRead(declared, null, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void writesSameJsonAsObjectMapper() throws Exception {
+        ApiResponse<AuthResponse> response = authEndpoint();
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(response, getClass().getDeclaredMethod("authEndpoint").getGenericReturnType(),
+                MediaType.APPLICATION_JSON, output);
+
+        assertEquals(objectMapper.writeValueAsString(response), output.getBodyAsString(StandardCharsets.UTF_8));
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+    }
+
+    private ApiResponse<AuthResponse> authEndpoint() {
+        return ApiResponse.success("Login exitoso",
+                new AuthResponse(42L, "user@dvs.com", "eyJ.access", "rt_refresh", Set.of("ROLE_USER"), false));
+    }
+
+    private ApiResponse<String> otherEndpoint() {
+        return ApiResponse.success("ok", "x");
+    }
+}
@@ -0,0 +1,101 @@
+package com.deepviewsystems.user_service.configs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = h2("routing-primary");
+    private final DataSource replica = h2("routing-replica");
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void markDatabases() {
+        new JdbcTemplate(primary).execute("CREATE TABLE IF NOT EXISTS db_role (name VARCHAR(16))");
+        new JdbcTemplate(primary).execute("MERGE INTO db_role KEY (name) VALUES ('primary')");
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS db_role (name VARCHAR(16))");
+        new JdbcTemplate(replica).execute("MERGE INTO db_role KEY (name) VALUES ('replica')");
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        routing = routing(replica);
+
+        assertEquals("replica", currentDatabase(true));
+        assertEquals("primary", currentDatabase(false));
+    }
+
+    @Test
+    void readsAfterWriteInSameRequestStayOnPrimary() {
+        routing = routing(replica);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertEquals("replica", currentDatabase(true));
+        assertEquals("primary", currentDatabase(false));
+        assertEquals("primary", currentDatabase(true));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("replica", currentDatabase(true));
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimaryUntilHealthy() throws SQLException {
+        DataSource flaky = mock(DataSource.class);
+        when(flaky.getConnection())
+                .thenThrow(new SQLException("connection refused"))
+                .thenAnswer(invocation -> replica.getConnection());
+        routing = routing(flaky);
+
+        assertEquals("primary", currentDatabase(true));
+        assertEquals(0, routing.healthyReplicas());
+        assertEquals("primary", currentDatabase(true));
+
+        routing.checkReplicas();
+
+        assertEquals(1, routing.healthyReplicas());
+        assertEquals("replica", currentDatabase(true));
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactions.setReadOnly(readOnly);
+        return transactions.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM db_role", String.class));
+    }
+
+    private ReadWriteRoutingDataSource routing(DataSource replica) {
+        return new ReadWriteRoutingDataSource(primary, Map.of("replica-0", replica),
+                Duration.ofHours(1), null, Duration.ofSeconds(10));
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
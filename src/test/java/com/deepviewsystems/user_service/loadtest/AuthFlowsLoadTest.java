@@ -0,0 +1,284 @@
+package com.deepviewsystems.user_service.loadtest;
+
+import com.deepviewsystems.user_service.records.EmailPasswordResetRequest;
+import com.deepviewsystems.user_service.services.PasswordResetNotifier;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga de extremo a extremo: levanta el servicio sobre H2 (perfil test), sustituye a
+ * Google y LinkedIn por stubs locales y lanza una mezcla de flujos a un ritmo fijo.
+ *
+ * No corre con el build normal:
+ * <pre>
+ * mvn test -Ploadtest -Dloadtest.rps=200 -Dloadtest.duration-seconds=60 \
+ *     -Dloadtest.mix=login=40,refresh=25,register=10,google=10,linkedin=10,password_reset=5
+ * </pre>
+ * Imprime p50/p95/p99, throughput y tasa de error por flujo y los deja en
+ * {@code target/loadtest-report.json}. Las peticiones sin respuesta {@code loadtest.drain-seconds}
+ * (30 por defecto) después de la última emisión cuentan como errores.
+ */
+@Tag("loadtest")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.deepviewsystems=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "spring.jpa.show-sql=false",
+        // Todo el tráfico sale de una IP y reutiliza un grupo pequeño de cuentas
+        "app.security.login-throttle.enabled=false"
+})
+class AuthFlowsLoadTest {
+
+    private static final String PASSWORD = "LoadTest-Passw0rd";
+    private static final String DEFAULT_MIX = "login=40,refresh=25,register=10,google=10,linkedin=10,password_reset=5";
+    private static final int LOGIN_USERS = 200;
+    private static final int RESET_USERS = 50;
+    private static final int SEED_BATCH = 16;
+
+    private static final IdentityProviderStubs STUBS = startStubs();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CapturingPasswordResetNotifier notifier;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Queue<String> refreshTokens = new ConcurrentLinkedQueue<>();
+    private final AtomicLong registrations = new AtomicLong();
+
+    @DynamicPropertySource
+    static void identityProviders(DynamicPropertyRegistry registry) {
+        registry.add("app.oauth.google.client-ids", () -> IdentityProviderStubs.GOOGLE_CLIENT_ID);
+        registry.add("app.oauth.google.jwks-uri", () -> STUBS.baseUrl() + "/google/certs");
+        registry.add("app.oauth.linkedin.userinfo-uri", () -> STUBS.baseUrl() + "/linkedin/userinfo");
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        STUBS.stop();
+    }
+
+    @Test
+    void mixedAuthFlows() throws Exception {
+        int rps = Integer.getInteger("loadtest.rps", 50);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+        Duration drainTimeout = Duration.ofSeconds(Long.getLong("loadtest.drain-seconds", 30));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+        seedUsers();
+
+        FlowStats stats = new FlowStats();
+        LoadGenerator generator = new LoadGenerator(flows(System.getProperty("loadtest.mix", DEFAULT_MIX)), stats);
+        long issueWindow = generator.run(rps, duration, drainTimeout);
+
+        Map<String, FlowStats.Summary> summaries = stats.summarize(issueWindow);
+        System.out.printf("%nCarga: %d req/s objetivo durante %s%n%s", rps, duration, FlowStats.format(summaries));
+        Path report = Path.of("target", "loadtest-report.json");
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, FlowStats.toJson(summaries));
+
+        assertFalse(summaries.isEmpty());
+        summaries.forEach((flow, summary) -> assertTrue(summary.errorRate() <= maxErrorRate,
+                () -> flow + ": tasa de error " + summary.errorRate()));
+    }
+
+    private List<LoadGenerator.WeightedFlow> flows(String mix) {
+        Map<String, java.util.function.Supplier<CompletableFuture<Boolean>>> available = new LinkedHashMap<>();
+        available.put("login", this::login);
+        available.put("refresh", this::refresh);
+        available.put("register", this::register);
+        available.put("google", this::googleLogin);
+        available.put("linkedin", this::linkedInLogin);
+        available.put("password_reset", this::passwordReset);
+
+        List<LoadGenerator.WeightedFlow> flows = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            var call = available.get(parts[0]);
+            assertNotNull(call, "Flujo desconocido: " + parts[0]);
+            flows.add(new LoadGenerator.WeightedFlow(parts[0], Integer.parseInt(parts[1]), call));
+        }
+        return flows;
+    }
+
+    /**
+     * Altas por tandas: todas a la vez desbordan la cola del pool de hashing (503) en máquinas con
+     * pocos núcleos.
+     */
+    private void seedUsers() {
+        List<Supplier<CompletableFuture<Boolean>>> seeds = new ArrayList<>();
+        for (int i = 0; i < LOGIN_USERS; i++) {
+            String email = loginEmail(i);
+            seeds.add(() -> post("/api/auth/register", credentials(email)).thenApply(this::collectRefreshToken));
+        }
+        for (int i = 0; i < RESET_USERS; i++) {
+            String email = resetEmail(i);
+            seeds.add(() -> post("/api/auth/register", credentials(email)).thenApply(response -> response.statusCode() == 201));
+        }
+        for (int from = 0; from < seeds.size(); from += SEED_BATCH) {
+            List<CompletableFuture<Boolean>> batch = seeds.subList(from, Math.min(from + SEED_BATCH, seeds.size())).stream()
+                    .map(Supplier::get)
+                    .toList();
+            batch.forEach(seed -> assertTrue(seed.join(), "No se pudo crear un usuario semilla"));
+        }
+    }
+
+    private CompletableFuture<Boolean> login() {
+        String email = loginEmail(ThreadLocalRandom.current().nextInt(LOGIN_USERS));
+        return post("/api/auth/login", credentials(email)).thenApply(this::collectRefreshToken);
+    }
+
+    private CompletableFuture<Boolean> refresh() {
+        String token = refreshTokens.poll();
+        if (token == null) {
+            return login();
+        }
+        return post("/api/auth/refresh", Map.of("refreshToken", token)).thenApply(this::collectRefreshToken);
+    }
+
+    private CompletableFuture<Boolean> register() {
+        String email = "new-" + registrations.incrementAndGet() + "@loadtest.dvs";
+        return post("/api/auth/register", credentials(email)).thenApply(response -> response.statusCode() == 201);
+    }
+
+    private CompletableFuture<Boolean> googleLogin() {
+        String idToken = STUBS.googleIdToken("g-" + ThreadLocalRandom.current().nextInt(1_000));
+        return post("/api/auth/google", Map.of("googleToken", idToken)).thenApply(response -> response.statusCode() == 200);
+    }
+
+    private CompletableFuture<Boolean> linkedInLogin() {
+        String token = "li-" + ThreadLocalRandom.current().nextInt(1_000);
+        return post("/api/auth/linkedin", Map.of("linkedinToken", token)).thenApply(response -> response.statusCode() == 200);
+    }
+
+    /**
+     * Solicitud de reseteo y cambio de contraseña con el token capturado; cuenta como un único flujo.
+     */
+    private CompletableFuture<Boolean> passwordReset() {
+        String email = resetEmail(ThreadLocalRandom.current().nextInt(RESET_USERS));
+        return post("/api/auth/password/forgot", Map.of("email", email)).thenCompose(response -> {
+            String token = notifier.takeToken(email);
+            if (response.statusCode() != 200 || token == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+            return post("/api/auth/password/reset", Map.of("token", token, "newPassword", PASSWORD))
+                    .thenApply(reset -> reset.statusCode() == 200);
+        });
+    }
+
+    private boolean collectRefreshToken(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            return false;
+        }
+        try {
+            JsonNode token = objectMapper.readTree(response.body()).path("data").path("refreshToken");
+            if (token.isTextual()) {
+                refreshTokens.offer(token.asText());
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> post(String path, Object body) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Map<String, String> credentials(String email) {
+        return Map.of("email", email, "password", PASSWORD);
+    }
+
+    private static String loginEmail(int i) {
+        return "login-" + i + "@loadtest.dvs";
+    }
+
+    private static String resetEmail(int i) {
+        return "reset-" + i + "@loadtest.dvs";
+    }
+
+    private static IdentityProviderStubs startStubs() {
+        try {
+            return IdentityProviderStubs.start();
+        } catch (Exception e) {
+            throw new IllegalStateException("No se pudieron levantar los stubs de proveedores", e);
+        }
+    }
+
+    @TestConfiguration
+    static class NotifierConfig {
+
+        @Bean
+        @Primary
+        CapturingPasswordResetNotifier capturingPasswordResetNotifier() {
+            return new CapturingPasswordResetNotifier();
+        }
+    }
+
+    /**
+     * Guarda el último token de reseteo por email en lugar de enviarlo.
+     */
+    static class CapturingPasswordResetNotifier implements PasswordResetNotifier {
+
+        private static final String TOKEN_PARAM = "token=";
+
+        private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+        @Override
+        public void send(EmailPasswordResetRequest request) {
+            String link = request.resetLink();
+            tokens.put(request.email(), link.substring(link.indexOf(TOKEN_PARAM) + TOKEN_PARAM.length()));
+        }
+
+        String takeToken(String email) {
+            return tokens.remove(email);
+        }
+    }
+}
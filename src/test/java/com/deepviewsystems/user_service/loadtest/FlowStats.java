@@ -0,0 +1,92 @@
+package com.deepviewsystems.user_service.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencias y errores por flujo. Guarda cada muestra (unas decenas de miles por prueba) y calcula
+ * los percentiles exactos al final.
+ */
+class FlowStats {
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    void record(String flow, long latencyNanos, boolean success) {
+        recorders.computeIfAbsent(flow, name -> new Recorder()).add(latencyNanos, success);
+    }
+
+    Map<String, Summary> summarize(long durationNanos) {
+        Map<String, Summary> summaries = new TreeMap<>();
+        recorders.forEach((flow, recorder) -> summaries.put(flow, recorder.summarize(durationNanos)));
+        return summaries;
+    }
+
+    static String format(Map<String, Summary> summaries) {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%-16s %8s %9s %8s %9s %9s %9s%n", "flujo", "total", "req/s", "error%", "p50 ms", "p95 ms", "p99 ms"));
+        summaries.forEach((flow, summary) -> report.append(String.format(Locale.ROOT,
+                "%-16s %8d %9.1f %8.2f %9.2f %9.2f %9.2f%n",
+                flow, summary.count(), summary.throughput(), summary.errorRate() * 100,
+                summary.p50Millis(), summary.p95Millis(), summary.p99Millis())));
+        return report.toString();
+    }
+
+    static String toJson(Map<String, Summary> summaries) {
+        StringBuilder json = new StringBuilder("{");
+        summaries.forEach((flow, summary) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(String.format(Locale.ROOT,
+                    "\"%s\":{\"count\":%d,\"errors\":%d,\"throughput\":%.2f,\"errorRate\":%.4f,"
+                            + "\"p50Ms\":%.3f,\"p95Ms\":%.3f,\"p99Ms\":%.3f}",
+                    flow, summary.count(), summary.errors(), summary.throughput(), summary.errorRate(),
+                    summary.p50Millis(), summary.p95Millis(), summary.p99Millis()));
+        });
+        return json.append('}').toString();
+    }
+
+    record Summary(long count, long errors, double throughput, double p50Millis, double p95Millis, double p99Millis) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    private static final class Recorder {
+
+        private long[] samples = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long latencyNanos, boolean success) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized Summary summarize(long durationNanos) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            double seconds = durationNanos / 1e9;
+            return new Summary(size, errors, size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
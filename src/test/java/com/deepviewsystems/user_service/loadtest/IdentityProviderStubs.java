@@ -0,0 +1,98 @@
+package com.deepviewsystems.user_service.loadtest;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Sustitutos locales de Google (JWKS + emisión de ID tokens) y LinkedIn (userinfo).
+ *
+ * El userinfo de LinkedIn acepta cualquier token {@code li-<n>} y devuelve la identidad {@code li-<n>}.
+ */
+class IdentityProviderStubs {
+
+    static final String GOOGLE_CLIENT_ID = "loadtest-client.apps.googleusercontent.com";
+    private static final String GOOGLE_KID = "loadtest-kid";
+
+    private final HttpServer server;
+    private final KeyPair googleKey;
+
+    private IdentityProviderStubs(HttpServer server, KeyPair googleKey) {
+        this.server = server;
+        this.googleKey = googleKey;
+    }
+
+    static IdentityProviderStubs start() throws IOException, NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair googleKey = generator.generateKeyPair();
+        String jwks = new JWKSet(List.of(new RSAKey.Builder((RSAPublicKey) googleKey.getPublic())
+                .keyID(GOOGLE_KID).build())).toString();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/google/certs", exchange -> respond(exchange, 200, jwks, "public, max-age=3600"));
+        server.createContext("/linkedin/userinfo", exchange -> {
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            String token = authorization == null ? "" : authorization.replaceFirst("^Bearer ", "");
+            if (!token.startsWith("li-")) {
+                respond(exchange, 401, "{\"message\":\"invalid token\"}", null);
+                return;
+            }
+            respond(exchange, 200, "{\"sub\":\"" + token + "\",\"email\":\"" + token + "@loadtest.dvs\","
+                    + "\"email_verified\":true,\"name\":\"Load Test\"}", null);
+        });
+        server.start();
+        return new IdentityProviderStubs(server, googleKey);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    String googleIdToken(String subject) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(GOOGLE_KID).and()
+                .issuer("https://accounts.google.com")
+                .audience().add(GOOGLE_CLIENT_ID).and()
+                .subject(subject)
+                .claim("email", subject + "@gmail.loadtest.dvs")
+                .claim("email_verified", true)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)))
+                .signWith(googleKey.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body, String cacheControl) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (cacheControl != null) {
+            exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.deepviewsystems.user_service.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Generador de carga en lazo abierto: lanza peticiones a un ritmo fijo sin esperar a que terminen
+ * las anteriores. La latencia se mide desde el instante en que la petición debía salir, no desde
+ * que salió, para no ocultar la cola que se forma cuando el servicio se satura (coordinated omission).
+ */
+class LoadGenerator {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final List<WeightedFlow> flows;
+    private final int totalWeight;
+    private final FlowStats stats;
+
+    LoadGenerator(List<WeightedFlow> flows, FlowStats stats) {
+        this.flows = List.copyOf(flows);
+        this.totalWeight = flows.stream().mapToInt(WeightedFlow::weight).sum();
+        this.stats = stats;
+    }
+
+    /**
+     * Devuelve la duración de la ventana de emisión, que es sobre la que se calcula el throughput:
+     * la espera final de las peticiones en vuelo no lo diluye. Las que no terminan en
+     * {@code drainTimeout} se cuentan como fallidas, con la latencia acumulada hasta ese momento.
+     */
+    long run(int requestsPerSecond, Duration duration, Duration drainTimeout) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long next = start;
+        // Quien la quite del mapa (respuesta o fin de la espera) registra la muestra, una sola vez
+        ConcurrentHashMap<CompletableFuture<Boolean>, Pending> inFlight = new ConcurrentHashMap<>();
+
+        while (next < end) {
+            long now = System.nanoTime();
+            while (next <= now && next < end) {
+                WeightedFlow flow = pick();
+                Pending pending = new Pending(flow.name(), next);
+                CompletableFuture<Boolean> call = flow.call().get();
+                inFlight.put(call, pending);
+                call.whenComplete((success, error) -> {
+                    if (inFlight.remove(call, pending)) {
+                        stats.record(pending.flow(), System.nanoTime() - pending.scheduledAt(),
+                                error == null && Boolean.TRUE.equals(success));
+                    }
+                });
+                next += intervalNanos;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(TICK_NANOS, Math.max(next - System.nanoTime(), 0)));
+        }
+        long issueWindow = System.nanoTime() - start;
+
+        CompletableFuture.allOf(inFlight.keySet().toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, drainTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .join();
+        long deadline = System.nanoTime();
+        inFlight.forEach((call, pending) -> {
+            if (inFlight.remove(call, pending)) {
+                stats.record(pending.flow(), deadline - pending.scheduledAt(), false);
+                call.cancel(true);
+            }
+        });
+        return issueWindow;
+    }
+
+    private WeightedFlow pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (WeightedFlow flow : flows) {
+            ticket -= flow.weight();
+            if (ticket < 0) {
+                return flow;
+            }
+        }
+        return flows.get(flows.size() - 1);
+    }
+
+    record WeightedFlow(String name, int weight, Supplier<CompletableFuture<Boolean>> call) {
+    }
+
+    private record Pending(String flow, long scheduledAt) {
+    }
+}
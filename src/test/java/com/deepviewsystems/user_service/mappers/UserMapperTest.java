@@ -0,0 +1,102 @@
+package com.deepviewsystems.user_service.mappers;
+
+import com.deepviewsystems.user_service.entities.AuthProvider;
+import com.deepviewsystems.user_service.entities.User;
+import com.deepviewsystems.user_service.entities.UserAuthentication;
+import com.deepviewsystems.user_service.records.AuthResponse;
+import com.deepviewsystems.user_service.records.UserProfileResponse;
+import com.deepviewsystems.user_service.records.UserProfileRow;
+import com.deepviewsystems.user_service.records.UserSecuritySnapshot;
+import com.deepviewsystems.user_service.security.AuthoritySet;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserMapperTest {
+
+    private static final Instant CREATED = Instant.parse("2025-01-01T10:00:00Z");
+    private static final Instant MODIFIED = Instant.parse("2025-02-01T10:00:00Z");
+
+    private final UserMapper userMapper = new UserMapper();
+    private final AuthoritySet authorities =
+            AuthoritySet.of(List.of(SecurityConstants.ROLE_USER, SecurityConstants.ROLE_ADMIN));
+
+    @Test
+    void profileFromEntityCopiesEveryField() {
+        User user = sampleUser();
+        user.setAccountNonLocked(false);
+
+        UserProfileResponse profile = userMapper.toProfile(user, authorities);
+
+        assertEquals(42L, profile.id());
+        assertEquals("user@dvs.com", profile.email());
+        assertEquals(Set.of(SecurityConstants.ROLE_USER, SecurityConstants.ROLE_ADMIN), profile.roles());
+        assertEquals(Set.of(SecurityConstants.PROVIDER_LOCAL, SecurityConstants.PROVIDER_GOOGLE), profile.authProviders());
+        assertTrue(profile.enabled());
+        assertTrue(profile.accountNonExpired());
+        assertFalse(profile.accountNonLocked());
+        assertTrue(profile.credentialsNonExpired());
+        assertEquals(CREATED, profile.createdDate());
+        assertEquals(MODIFIED, profile.lastModifiedDate());
+    }
+
+    @Test
+    void profileFromEntityWithoutAuthenticationsHasNoProviders() {
+        User user = sampleUser();
+        user.setAuthentications(null);
+
+        assertEquals(Set.of(), userMapper.toProfile(user, authorities).authProviders());
+    }
+
+    @Test
+    void profileFromRowMatchesProfileFromEntity() {
+        UserProfileRow row = new UserProfileRow(42L, "user@dvs.com", true, true, CREATED, MODIFIED, 1L,
+                SecurityConstants.PROVIDER_LOCAL);
+
+        UserProfileResponse fromRow = userMapper.toProfile(row, authorities,
+                Set.of(SecurityConstants.PROVIDER_LOCAL, SecurityConstants.PROVIDER_GOOGLE));
+
+        assertEquals(userMapper.toProfile(sampleUser(), authorities), fromRow);
+    }
+
+    @Test
+    void authResponseCarriesSnapshotAndTokens() {
+        UserSecuritySnapshot snapshot = userMapper.toSecuritySnapshot(sampleUser(), authorities);
+
+        AuthResponse response = userMapper.toAuthResponse(snapshot, "access", "refresh", true);
+
+        assertEquals("{bcrypt}hash", snapshot.passwordHash());
+        assertTrue(snapshot.isActive());
+        assertEquals(42L, response.userId());
+        assertEquals("user@dvs.com", response.email());
+        assertEquals("access", response.accessToken());
+        assertEquals("refresh", response.refreshToken());
+        assertEquals(authorities.names(), response.roles());
+        assertTrue(response.isNewUser());
+    }
+
+    private static User sampleUser() {
+        User user = User.builder()
+                .id(42L)
+                .email("user@dvs.com")
+                .password("{bcrypt}hash")
+                .authentications(new ArrayList<>())
+                .build();
+        for (String provider : List.of(SecurityConstants.PROVIDER_LOCAL, SecurityConstants.PROVIDER_GOOGLE)) {
+            user.getAuthentications().add(UserAuthentication.builder()
+                    .user(user)
+                    .provider(AuthProvider.builder().name(provider).build())
+                    .providerUserId("user@dvs.com")
+                    .build());
+        }
+        user.setCreatedDate(CREATED);
+        user.setLastModifiedDate(MODIFIED);
+        return user;
+    }
+}
@@ -0,0 +1,56 @@
+package com.deepviewsystems.user_service.observability;
+
+import com.deepviewsystems.user_service.auditlog.AuthEventLog;
+import com.deepviewsystems.user_service.exceptions.InvalidCredentialsException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class AuthFlowObserverTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private final AuthEventLog authEventLog = mock(AuthEventLog.class);
+    private AuthFlowObserver observer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        observer = new AuthFlowObserver(observationRegistry, authEventLog);
+    }
+
+    @Test
+    void successfulFlowIsTimedByFlowAndProvider() {
+        assertEquals("ok", observer.observe(AuthFlowObserver.FLOW_LOGIN, "GOOGLE", () -> "ok"));
+
+        Timer timer = meterRegistry.find(AuthFlowObserver.NAME)
+                .tags("flow", "login", "provider", "google", "outcome", "success")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void failedFlowIsTaggedWithOutcomeAndRethrown() {
+        assertThrows(InvalidCredentialsException.class, () -> observer.observe(AuthFlowObserver.FLOW_LOGIN, "LOCAL", "user@dvs.com",
+                () -> {
+                    throw new InvalidCredentialsException("Credenciales inválidas");
+                }));
+
+        Timer timer = meterRegistry.find(AuthFlowObserver.NAME)
+                .tags("flow", "login", "provider", "local", "outcome", "invalid_credentials")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        verify(authEventLog).append(argThat(event -> event.outcome().equals("invalid_credentials")
+                && event.subject().equals("user@dvs.com") && event.userId() == null));
+    }
+}
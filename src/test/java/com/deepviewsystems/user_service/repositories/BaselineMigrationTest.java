@@ -0,0 +1,94 @@
+package com.deepviewsystems.user_service.repositories;
+
+import com.deepviewsystems.user_service.utils.TokenUtils;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Adopta una base con el esquema que generaba Hibernate con ddl-auto=update, como hace
+ * producción con baseline-on-migrate, y la lleva a la última versión: los datos se conservan
+ * y el esquema final es el mismo que el de una base creada desde cero.
+ */
+class BaselineMigrationTest {
+
+    private static final String[] LOCATIONS = {"classpath:db/migration/common", "classpath:db/migration/h2"};
+    private static final String AUDIT = "'system', CURRENT_TIMESTAMP, 'system', CURRENT_TIMESTAMP";
+
+    @Test
+    void baselineSchemaMigratesToLatestVersion() {
+        DataSource adopted = dataSource("baseline-adopted");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/common/V1__initial_schema.sql"))
+                .execute(adopted);
+        JdbcTemplate jdbc = new JdbcTemplate(adopted);
+        jdbc.update("INSERT INTO roles (id, authority, created_by, created_date, last_modified_by, last_modified_date)"
+                + " VALUES (1, 'ROLE_USER', " + AUDIT + ")");
+        jdbc.update("INSERT INTO users (id, email, password, created_by, created_date, last_modified_by, last_modified_date)"
+                + " VALUES (120, 'old@dvs.com', '{bcrypt}hash', " + AUDIT + ")");
+        jdbc.update("INSERT INTO users_roles (user_id, roles_id) VALUES (120, 1)");
+        jdbc.update("INSERT INTO refresh_tokens (id, user_id, token, expiry_date, created_by, created_date, last_modified_by, last_modified_date)"
+                + " VALUES (7, 120, 'refresh-token', CURRENT_TIMESTAMP, " + AUDIT + ")");
+        jdbc.update("INSERT INTO password_reset_tokens (id, token, user_id, expiry_date)"
+                + " VALUES (3, 'reset-token', 120, LOCALTIMESTAMP)");
+
+        MigrateResult result = flyway(adopted).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertTrue(result.success);
+        assertEquals(latestVersion(), result.targetSchemaVersion);
+        assertArrayEquals(TokenUtils.hash("refresh-token"),
+                jdbc.queryForObject("SELECT token_hash FROM refresh_tokens WHERE id = 7", byte[].class));
+        assertArrayEquals(TokenUtils.hash("reset-token"),
+                jdbc.queryForObject("SELECT token_hash FROM password_reset_tokens WHERE id = 3", byte[].class));
+        // Optimizador pooled: el primer bloque de ids es (valor - 49 .. valor) y empieza tras el máximo
+        assertEquals(120 + 50, jdbc.queryForObject("SELECT NEXT VALUE FOR users_seq", Long.class));
+        assertEquals(1 + 50, jdbc.queryForObject("SELECT NEXT VALUE FOR roles_seq", Long.class));
+        assertEquals(50, jdbc.queryForObject("SELECT NEXT VALUE FOR auth_providers_seq", Long.class));
+
+        DataSource fresh = dataSource("baseline-fresh");
+        flyway(fresh).load().migrate();
+        assertEquals(schema(fresh), schema(adopted));
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static FluentConfiguration flyway(DataSource dataSource) {
+        return Flyway.configure().dataSource(dataSource).locations(LOCATIONS);
+    }
+
+    private static String latestVersion() {
+        MigrationInfo[] migrations = flyway(dataSource("baseline-versions")).load().info().all();
+        return migrations[migrations.length - 1].getVersion().getVersion();
+    }
+
+    private static List<String> schema(DataSource dataSource) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        List<String> schema = new ArrayList<>(jdbc.queryForList("""
+                SELECT LOWER(table_name || '.' || column_name || ' ' || data_type || ' '
+                       || COALESCE(character_maximum_length, 0) || ' ' || is_nullable || ' ' || is_identity)
+                FROM information_schema.columns
+                WHERE table_schema = 'PUBLIC' AND table_name <> 'flyway_schema_history'
+                ORDER BY 1
+                """, String.class));
+        schema.addAll(jdbc.queryForList("""
+                SELECT LOWER(sequence_name || ' ' || increment)
+                FROM information_schema.sequences
+                WHERE sequence_schema = 'PUBLIC'
+                ORDER BY 1
+                """, String.class));
+        return schema;
+    }
+}
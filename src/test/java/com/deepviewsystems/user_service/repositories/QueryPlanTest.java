@@ -0,0 +1,62 @@
+package com.deepviewsystems.user_service.repositories;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba con EXPLAIN, sobre el esquema creado por las migraciones, que cada consulta frecuente
+ * de los repositorios resuelve su condición con un índice y no recorriendo la tabla. Las consultas
+ * son el SQL equivalente al que genera Hibernate.
+ *
+ * Se comprueba la condición que resuelve el índice y no su nombre: H2 crea sus propios índices
+ * para las claves foráneas y puede elegir uno equivalente al de la migración.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    private static final String NOW = "TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00+00'";
+    private static final String LOCAL_NOW = "TIMESTAMP '2024-01-01 00:00:00'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', quoteCharacter = '"', textBlock = """
+            users.findByEmail                     | SELECT id FROM users WHERE email = 'a@example.com'                                 | email = 'a@example.com'
+            users.findEmailsCreatedSince          | SELECT email FROM users WHERE created_date >= %NOW%                               | created_date >=
+            users.findRoleIds                     | SELECT roles_id FROM users_roles WHERE user_id = 1                                | user_id = cast(1 as bigint)
+            authentications.findUserIdByProvider  | SELECT ua.user_id FROM user_authentications ua JOIN auth_providers p ON p.id = ua.provider_id WHERE p.name = 'GOOGLE' AND ua.provider_user_id = 'sub' | provider_user_id = 'sub'
+            authentications.existsByUserAndProvider | SELECT id FROM user_authentications WHERE user_id = 1 AND provider_id = 2       | provider_id = cast(2 as bigint)
+            providers.findByName                  | SELECT id FROM auth_providers WHERE name = 'GOOGLE'                               | name = 'google'
+            refresh.findByTokenHash               | SELECT id FROM refresh_tokens WHERE token_hash = X'00'                             | token_hash =
+            refresh.deleteByUser                  | DELETE FROM refresh_tokens WHERE user_id = 1                                       | user_id = cast(1 as bigint)
+            refresh.findExpiredTokenIds           | SELECT id FROM refresh_tokens WHERE expiry_date < %NOW% AND id > 0 ORDER BY id    | expiry_date <
+            reset.findByTokenHashAndNotExpired    | SELECT id FROM password_reset_tokens WHERE token_hash = X'00' AND expiry_date > %LOCAL_NOW% | token_hash =
+            reset.deleteByUser                    | DELETE FROM password_reset_tokens WHERE user_id = 1                                | user_id = cast(1 as bigint)
+            reset.findExpiredTokenIds             | SELECT id FROM password_reset_tokens WHERE expiry_date < %LOCAL_NOW% AND id > 0 ORDER BY id | expiry_date <
+            revocations.findActiveSince           | SELECT id FROM token_revocations WHERE revoked_at > %NOW% AND expires_at > %NOW% | revoked_at >
+            revocations.findExpiredIds            | SELECT id FROM token_revocations WHERE expires_at < %NOW% AND id > 0 ORDER BY id | expires_at <
+            """)
+    void hotQueryUsesAnIndex(String query, String sql, String indexedCondition) {
+        String plan = jdbcTemplate.queryForList("EXPLAIN " + sql.replace("%NOW%", NOW).replace("%LOCAL_NOW%", LOCAL_NOW), String.class)
+                .get(0)
+                .replace("\"", "")
+                .toLowerCase(Locale.ROOT);
+
+        // H2 anota cada tabla con el índice elegido y la condición que resuelve: /* public.indice: condición */.
+        // Los literales numéricos aparecen como cast(n as bigint)
+        Pattern indexLookup = Pattern.compile("/\\* public\\.\\w+: [^*]*" + Pattern.quote(indexedCondition));
+        assertTrue(indexLookup.matcher(plan).find(), () -> query + " no resuelve '" + indexedCondition + "' con un índice:\n" + plan);
+        assertTrue(!plan.contains("tablescan"), () -> query + " recorre la tabla completa:\n" + plan);
+    }
+}
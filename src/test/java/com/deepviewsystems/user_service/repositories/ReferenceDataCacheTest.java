@@ -0,0 +1,67 @@
+package com.deepviewsystems.user_service.repositories;
+
+import com.deepviewsystems.user_service.entities.AuthProvider;
+import com.deepviewsystems.user_service.security.SecurityConstants;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private AuthProviderRepository authProviderRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        Long roleId = roleRepository.findByAuthority(SecurityConstants.ROLE_USER).orElseThrow().getId();
+        authProviderRepository.findByName(SecurityConstants.PROVIDER_LOCAL).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        roleRepository.findByAuthority(SecurityConstants.ROLE_USER).orElseThrow();
+        authProviderRepository.findByName(SecurityConstants.PROVIDER_LOCAL).orElseThrow();
+        roleRepository.findById(roleId).orElseThrow();
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() >= 2);
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+    }
+
+    @Test
+    void changesToTheTableInvalidateCachedQueries() {
+        authProviderRepository.findByName(SecurityConstants.PROVIDER_LOCAL).orElseThrow();
+        AuthProvider added = authProviderRepository.save(AuthProvider.builder().name("CACHE_TEST").build());
+        try {
+            long misses = statistics.getQueryCacheMissCount();
+
+            authProviderRepository.findByName(SecurityConstants.PROVIDER_LOCAL).orElseThrow();
+            assertEquals(misses + 1, statistics.getQueryCacheMissCount());
+            assertEquals(added.getId(), authProviderRepository.findByName("CACHE_TEST").orElseThrow().getId());
+        } finally {
+            authProviderRepository.delete(added);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.deepviewsystems.user_service.security;
+
+import com.deepviewsystems.user_service.clients.IdentityProviderClients;
+import com.deepviewsystems.user_service.configs.OutboundHttpProperties;
+import com.deepviewsystems.user_service.exceptions.InvalidCredentialsException;
+import com.deepviewsystems.user_service.records.GoogleUserInfo;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica ID tokens contra un servidor JWKS local que simula al de Google.
+ */
+class GoogleTokenVerifierTest {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+
+    private HttpServer jwksServer;
+    private CloseableHttpClient httpClient;
+    private final AtomicReference<String> jwksBody = new AtomicReference<>();
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+    private GoogleTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jwksServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        jwksServer.createContext("/oauth2/v3/certs", exchange -> {
+            jwksRequests.incrementAndGet();
+            byte[] body = jwksBody.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        jwksServer.start();
+        httpClient = HttpClients.createDefault();
+
+        verifier = newVerifier(30);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        jwksServer.stop(0);
+    }
+
+    @Test
+    void validTokenIsVerifiedWithCachedKeys() throws Exception {
+        KeyPair keyPair = generateKeyPair();
+        publish("kid-1", keyPair);
+
+        GoogleUserInfo first = verifier.verify(idToken("kid-1", keyPair, CLIENT_ID, true));
+        verifier.verify(idToken("kid-1", keyPair, CLIENT_ID, true));
+
+        assertEquals("google-sub-123", first.sub());
+        assertEquals("user@gmail.com", first.email());
+        assertEquals(1, jwksRequests.get(), "El JWKS solo debe descargarse una vez mientras está vigente");
+    }
+
+    @Test
+    void unknownKidTriggersKeyRefresh() throws Exception {
+        GoogleTokenVerifier eagerVerifier = newVerifier(0);
+        KeyPair oldKey = generateKeyPair();
+        publish("kid-old", oldKey);
+        eagerVerifier.verify(idToken("kid-old", oldKey, CLIENT_ID, true));
+
+        KeyPair rotatedKey = generateKeyPair();
+        publish("kid-new", rotatedKey);
+
+        assertEquals("google-sub-123", eagerVerifier.verify(idToken("kid-new", rotatedKey, CLIENT_ID, true)).sub());
+        assertEquals(2, jwksRequests.get());
+    }
+
+    @Test
+    void unknownKidRefreshIsRateLimited() throws Exception {
+        publish("kid-old", generateKeyPair());
+        verifier.refreshKeys();
+
+        KeyPair rotatedKey = generateKeyPair();
+        publish("kid-new", rotatedKey);
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> verifier.verify(idToken("kid-new", rotatedKey, CLIENT_ID, true)));
+        assertEquals(1, jwksRequests.get());
+    }
+
+    @Test
+    void tokenForAnotherAudienceIsRejected() throws Exception {
+        KeyPair keyPair = generateKeyPair();
+        publish("kid-1", keyPair);
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> verifier.verify(idToken("kid-1", keyPair, "other-client", true)));
+    }
+
+    @Test
+    void unverifiedEmailIsRejected() throws Exception {
+        KeyPair keyPair = generateKeyPair();
+        publish("kid-1", keyPair);
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> verifier.verify(idToken("kid-1", keyPair, CLIENT_ID, false)));
+    }
+
+    @Test
+    void tokenSignedWithUnpublishedKeyIsRejected() throws Exception {
+        publish("kid-1", generateKeyPair());
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> verifier.verify(idToken("kid-1", generateKeyPair(), CLIENT_ID, true)));
+    }
+
+    private GoogleTokenVerifier newVerifier(long minRefreshSeconds) {
+        String jwksUri = "http://localhost:" + jwksServer.getAddress().getPort() + "/oauth2/v3/certs";
+        IdentityProviderClients clients = new IdentityProviderClients(httpClient, new OutboundHttpProperties(),
+                new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+        return new GoogleTokenVerifier(clients, CLIENT_ID, jwksUri, minRefreshSeconds);
+    }
+
+    private void publish(String kid, KeyPair keyPair) {
+        RSAKey jwk = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic()).keyID(kid).build();
+        jwksBody.set(new JWKSet(List.of(jwk)).toString());
+    }
+
+    private static String idToken(String kid, KeyPair keyPair, String audience, boolean emailVerified) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .issuer("https://accounts.google.com")
+                .audience().add(audience).and()
+                .subject("google-sub-123")
+                .claim("email", "user@gmail.com")
+                .claim("email_verified", emailVerified)
+                .claim("name", "Test User")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)))
+                .signWith((RSAPrivateKey) keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,94 @@
+package com.deepviewsystems.user_service.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String ISSUER = "http://localhost:8085";
+
+    private final SigningKeyStore store = SigningKeyStore.inMemory();
+    private final SigningKeyRing keyRing = new SigningKeyRing(store, 1440, 900, 300);
+    private final JwtService jwtService = new JwtService(keyRing, ISSUER, 900);
+
+    @Test
+    void generatedTokenIsValidatedLocally() {
+        String token = jwtService.generateAccessToken(42L, "user@dvs.com", List.of(SecurityConstants.ROLE_USER));
+
+        Claims claims = jwtService.parseAccessToken(token);
+
+        assertEquals("42", claims.getSubject());
+        assertEquals(ISSUER, claims.getIssuer());
+        assertEquals("user@dvs.com", claims.get(JwtService.CLAIM_EMAIL, String.class));
+        assertEquals(List.of(SecurityConstants.ROLE_USER), JwtService.extractRoles(claims));
+        assertNotNull(claims.getId());
+    }
+
+    @Test
+    void rolesTravelAsCompactClaimAndAreInterned() {
+        List<String> roles = List.of(SecurityConstants.ROLE_USER, SecurityConstants.ROLE_ADMIN);
+        Claims first = jwtService.parseAccessToken(jwtService.generateAccessToken(1L, "a@dvs.com", roles));
+        Claims second = jwtService.parseAccessToken(jwtService.generateAccessToken(2L, "b@dvs.com", roles));
+
+        assertEquals("USER ADMIN", first.get(JwtService.CLAIM_ROLES, String.class));
+        AuthoritySet authorities = jwtService.extractAuthorities(first);
+        assertSame(authorities, jwtService.extractAuthorities(second));
+        assertSame(authorities.getAuthorities(), jwtService.extractAuthorities(second).getAuthorities());
+        assertEquals(Set.copyOf(roles), authorities.names());
+    }
+
+    @Test
+    void tokensSignedWithPreviousKeyRemainValidAfterRotation() {
+        String token = jwtService.generateAccessToken(1L, "user@dvs.com", List.of());
+        String previousKid = keyRing.currentKey().kid();
+
+        keyRing.rotate();
+
+        assertNotEquals(previousKid, keyRing.currentKey().kid());
+        assertEquals("1", jwtService.parseAccessToken(token).getSubject());
+    }
+
+    @Test
+    void replicasSharingTheStoreVerifyEachOthersTokensAfterRotation() {
+        SigningKeyRing otherReplica = new SigningKeyRing(store, 1440, 900, 300);
+        JwtService otherService = new JwtService(otherReplica, ISSUER, 900);
+
+        // La segunda réplica arranca con la clave ya guardada por la primera
+        assertEquals(keyRing.currentKey().kid(), otherReplica.currentKey().kid());
+
+        otherReplica.rotate();
+        String token = otherService.generateAccessToken(1L, "user@dvs.com", List.of());
+
+        assertEquals("1", jwtService.parseAccessToken(token).getSubject());
+    }
+
+    @Test
+    void tokenFromUnknownKeyRingIsRejected() {
+        JwtService otherService = new JwtService(new SigningKeyRing(SigningKeyStore.inMemory(), 1440, 900, 300), ISSUER, 900);
+        String foreignToken = otherService.generateAccessToken(1L, "user@dvs.com", List.of());
+
+        assertThrows(JwtException.class, () -> jwtService.parseAccessToken(foreignToken));
+    }
+
+    @Test
+    void publishedJwksContainsOnlyPublicParameters() {
+        keyRing.rotate();
+
+        List<?> keys = (List<?>) keyRing.publicJwks().get("keys");
+
+        assertEquals(2, keys.size());
+        keys.forEach(key -> {
+            Map<?, ?> jwk = (Map<?, ?>) key;
+            assertEquals("RSA", jwk.get("kty"));
+            assertNotNull(jwk.get("kid"));
+            assertFalse(jwk.containsKey("d"));
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.deepviewsystems.user_service.security;
+
+import com.deepviewsystems.user_service.caches.AccessTokenRevocationList;
+import com.deepviewsystems.user_service.caches.UserSecurityCache;
+import com.deepviewsystems.user_service.exceptions.TooManyAttemptsException;
+import com.deepviewsystems.user_service.records.UserSecuritySnapshot;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoginThrottleTest {
+
+    private final UserSecurityCache userSecurityCache = mock(UserSecurityCache.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AccessTokenRevocationList accessTokenRevocationList = mock(AccessTokenRevocationList.class);
+
+    @Test
+    void emailIsThrottledAfterBurstWithoutAffectingOthers() {
+        LoginThrottle throttle = newThrottle(3, 100, 0);
+
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("Victim@Example.com", "10.0.0." + i);
+        }
+        TooManyAttemptsException rejected = assertThrows(TooManyAttemptsException.class,
+                () -> throttle.acquire("victim@example.com", "10.0.0.9"));
+
+        assertTrue(rejected.getRetryAfter().toSeconds() >= 1);
+        assertDoesNotThrow(() -> throttle.acquire("other@example.com", "10.0.0.9"));
+        verifyNoInteractions(userRepository, userSecurityCache);
+    }
+
+    @Test
+    void ipIsThrottledAcrossEmails() {
+        LoginThrottle throttle = newThrottle(100, 2, 0);
+
+        throttle.acquire("a@example.com", "10.0.0.1");
+        throttle.acquire("b@example.com", "10.0.0.1");
+
+        assertThrows(TooManyAttemptsException.class, () -> throttle.acquire("c@example.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.acquire("c@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void sustainedRejectionsLockTheAccountOnce() {
+        LoginThrottle throttle = newThrottle(1, 100, 2);
+        when(userSecurityCache.findByEmail("victim@example.com")).thenReturn(Optional.of(
+                new UserSecuritySnapshot(7L, "victim@example.com", "hash", true, true, AuthoritySet.EMPTY)));
+        when(userRepository.lockAccount(7L)).thenReturn(1);
+
+        throttle.acquire("victim@example.com", null);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(TooManyAttemptsException.class, () -> throttle.acquire("victim@example.com", null));
+        }
+
+        verify(userRepository, times(1)).lockAccount(7L);
+        verify(userSecurityCache).invalidate(7L);
+        verify(accessTokenRevocationList).revokeAll(7L);
+    }
+
+    private LoginThrottle newThrottle(int emailCapacity, int ipCapacity, int lockAfterRejections) {
+        return new LoginThrottle(userSecurityCache, userRepository, accessTokenRevocationList, new SimpleMeterRegistry(),
+                true, emailCapacity, 3600, ipCapacity, 3600, 1000, lockAfterRejections);
+    }
+}
@@ -0,0 +1,55 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.repositories.RefreshTokenRepository;
+import com.deepviewsystems.user_service.repositories.TokenRevocationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Con el planificador real (un solo hilo): mientras una purga está bloqueada en un lote, la
+ * lectura periódica de revocaciones sigue ejecutándose.
+ */
+@SpringBootTest(properties = {
+        "app.purge.cron=* * * * * *",
+        "app.security.revocation.poll-ms=100"
+})
+@ActiveProfiles("test")
+class TokenPurgeServiceTest {
+
+    @MockitoSpyBean
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @MockitoSpyBean
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Test
+    void revocationPollKeepsRunningDuringPurge() throws InterruptedException {
+        CountDownLatch purgeStarted = new CountDownLatch(1);
+        CountDownLatch releasePurge = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            purgeStarted.countDown();
+            releasePurge.await(30, TimeUnit.SECONDS);
+            return List.of();
+        }).when(refreshTokenRepository).findExpiredTokenIds(any(), anyLong(), any());
+
+        try {
+            assertTrue(purgeStarted.await(10, TimeUnit.SECONDS), "la purga programada no arrancó");
+            clearInvocations(tokenRevocationRepository);
+
+            verify(tokenRevocationRepository, timeout(5_000).atLeast(3)).findActiveSince(any(), any());
+        } finally {
+            releasePurge.countDown();
+        }
+    }
+}
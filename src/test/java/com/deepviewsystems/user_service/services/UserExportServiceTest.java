@@ -0,0 +1,65 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.records.UserProfileResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class UserExportServiceTest {
+
+    private final UserService userService = mock(UserService.class);
+    private final UserExportService exportService =
+            new UserExportService(userService, new ObjectMapper().registerModule(new JavaTimeModule()), 2);
+
+    @Test
+    void walksPagesByIdCursor() throws Exception {
+        when(userService.getProfilesAfter(0, 2)).thenReturn(List.of(profile(1, "a@x.com"), profile(4, "b@x.com")));
+        when(userService.getProfilesAfter(4, 2)).thenReturn(List.of(profile(9, "c@x.com")));
+        when(userService.getProfilesAfter(9, 2)).thenReturn(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.export(out, UserExportService.Format.NDJSON, 0, 0);
+
+        assertEquals(3, exported);
+        assertEquals(3, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void resumesFromCursorAndHonoursLimit() throws Exception {
+        when(userService.getProfilesAfter(eq(4L), anyInt())).thenReturn(List.of(profile(9, "c@x.com")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.export(out, UserExportService.Format.CSV, 4, 1);
+
+        assertEquals(1, exported);
+        // Al reanudar no se repite la cabecera
+        assertEquals("9,c@x.com,ROLE_USER,LOCAL|GOOGLE,true,true,2024-01-01T00:00:00Z,2024-01-01T00:00:00Z\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(userService, times(1)).getProfilesAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void csvStartsWithHeader() throws Exception {
+        when(userService.getProfilesAfter(anyLong(), anyInt())).thenReturn(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(out, UserExportService.Format.CSV, 0, 0);
+
+        assertEquals(UserExportService.CSV_HEADER + "\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static UserProfileResponse profile(long id, String email) {
+        Instant date = Instant.parse("2024-01-01T00:00:00Z");
+        return new UserProfileResponse(id, email, new LinkedHashSet<>(List.of("ROLE_USER")),
+                new LinkedHashSet<>(List.of("LOCAL", "GOOGLE")), true, true, true, true, date, date);
+    }
+}
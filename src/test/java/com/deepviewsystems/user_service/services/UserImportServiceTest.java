@@ -0,0 +1,62 @@
+package com.deepviewsystems.user_service.services;
+
+import com.deepviewsystems.user_service.records.UserImportResult;
+import com.deepviewsystems.user_service.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void rowRejectedByTheDatabaseFailsAloneAndTheRestOfTheChunkIsImported() throws Exception {
+        String prefix = "import-" + System.nanoTime();
+        // Email válido para @Email pero más largo que la columna (255): el bloque falla al guardar
+        String tooLong = prefix + "@" + "d".repeat(60) + "." + "d".repeat(60) + "." + "d".repeat(60) + "."
+                + "d".repeat(60) + ".com";
+        String csv = String.join("\n",
+                "email,password,roles",
+                prefix + "-a@dvs.com,password-a",
+                tooLong + ",password-b",
+                prefix + "-c@dvs.com,password-c");
+
+        UserImportResult result = importService.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), UserImportService.Format.CSV);
+
+        assertEquals(2, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(List.of("línea 3: error al guardar"), result.errors());
+        assertTrue(userRepository.findByEmail(prefix + "-a@dvs.com").isPresent());
+        assertTrue(userRepository.findByEmail(prefix + "-c@dvs.com").isPresent());
+    }
+
+    @Test
+    void passwordOverSeventyTwoBytesIsRejected() throws Exception {
+        String prefix = "import-" + System.nanoTime();
+        // 40 caracteres, 80 bytes en UTF-8
+        String ndjson = String.join("\n",
+                "{\"email\":\"" + prefix + "-a@dvs.com\",\"password\":\"" + "ñ".repeat(40) + "\"}",
+                "{\"email\":\"" + prefix + "-b@dvs.com\",\"password\":\"" + "ñ".repeat(36) + "\"}");
+
+        UserImportResult result = importService.importUsers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), UserImportService.Format.NDJSON);
+
+        assertEquals(1, result.imported());
+        assertEquals(List.of("línea 1: La contraseña no puede superar los 72 bytes"), result.errors());
+    }
+}
@@ -0,0 +1,44 @@
+package com.deepviewsystems.user_service.validators;
+
+import com.deepviewsystems.user_service.records.ChangePasswordRequest;
+import com.deepviewsystems.user_service.records.RegisterUserRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaxUtf8BytesValidatorTest {
+
+    private static final ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+    private static final Validator validator = factory.getValidator();
+
+    @AfterAll
+    static void close() {
+        factory.close();
+    }
+
+    @Test
+    void limitCountsBytesNotCharacters() {
+        // 72 caracteres ASCII: 72 bytes
+        assertEquals(List.of(), messages(new RegisterUserRequest("ana@dvs.com", "a".repeat(72))));
+        // 40 caracteres de 2 bytes: 80 bytes aunque @Size los acepte
+        assertEquals(List.of("La contraseña no puede superar los 72 bytes"),
+                messages(new RegisterUserRequest("ana@dvs.com", "ñ".repeat(40))));
+        // Emoji fuera del BMP: 2 chars, 4 bytes cada uno
+        assertEquals(List.of("La contraseña no puede superar los 72 bytes"),
+                messages(new ChangePasswordRequest("token", "😀".repeat(19))));
+        assertEquals(List.of(), messages(new ChangePasswordRequest("token", "😀".repeat(18))));
+    }
+
+    private static <T> List<String> messages(T request) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        return violations.stream().map(ConstraintViolation::getMessage).toList();
+    }
+}